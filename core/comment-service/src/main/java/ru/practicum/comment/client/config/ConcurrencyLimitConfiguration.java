@@ -0,0 +1,30 @@
+package ru.practicum.comment.client.config;
+
+import feign.Capability;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.limit.ConcurrencyLimitCapability;
+import ru.practicum.limit.ConcurrencyLimitProperties;
+
+/**
+ * Limits concurrent calls of every Feign client of the service separately. Kept apart from
+ * {@link FeignClientConfiguration}, which clients also load into their own contexts, so each
+ * client is limited once.
+ */
+@Configuration
+public class ConcurrencyLimitConfiguration {
+
+  @Bean
+  @ConfigurationProperties(prefix = "client-concurrency")
+  public ConcurrencyLimitProperties concurrencyLimitProperties() {
+    return new ConcurrencyLimitProperties();
+  }
+
+  @Bean
+  public Capability concurrencyLimitCapability(final ConcurrencyLimitProperties properties,
+                                               final MeterRegistry meterRegistry) {
+    return new ConcurrencyLimitCapability(properties, meterRegistry);
+  }
+}
@@ -4,6 +4,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
 import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.exception.NotFoundException;
 
 @Component
 @Slf4j
@@ -21,6 +24,15 @@ public class EventClientFallbackFactory implements FallbackFactory<EventClient>
         return new EventFullDto();
       }
 
+      @Override
+      public EventSummaryDto getEventSummary(Long eventId) {
+        if (cause instanceof NotFoundException notFound) {
+          throw notFound;
+        }
+        log.warn("Fallback: unable to call event-service - getEventSummary(eventId);eventID = {}.", eventId);
+        throw new ConflictException("Event data is unavailable now, try again later.");
+      }
+
       @Override
       public boolean existsById(Long id) {
         log.warn("Fallback: unable to call event-service - existsById(); eventId = {}", id);
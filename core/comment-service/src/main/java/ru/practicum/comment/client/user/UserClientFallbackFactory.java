@@ -1,15 +1,23 @@
 package ru.practicum.comment.client.user;
 
 import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
+import ru.practicum.cache.LastKnownValues;
+import ru.practicum.cache.StaleValue;
 import ru.practicum.dto.UserShortDto;
+import ru.practicum.exception.NotFoundException;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class UserClientFallbackFactory implements FallbackFactory<UserClient> {
 
+  private final LastKnownValues<Long, UserShortDto> lastKnownUsers;
+
   @Override
   public UserClient create(Throwable cause) {
     log.warn("User Client Fallback triggered, CAUSE: {}.", cause.getMessage(), cause);
@@ -18,12 +26,19 @@ public class UserClientFallbackFactory implements FallbackFactory<UserClient> {
 
       @Override
       public boolean existsById(Long id) {
+        if (findLastKnown(cause, id).isPresent()) {
+          return true;
+        }
         log.warn("Fallback: unable to call user-service - existsById(); userId = {}.", id);
         return false;
       }
 
       @Override
       public UserShortDto getUser(Long id) {
+        final Optional<StaleValue<UserShortDto>> user = findLastKnown(cause, id);
+        if (user.isPresent()) {
+          return lastKnownUsers.markServed(user.get().value());
+        }
         log.warn("Fallback: unable to call user-service - getUser(); userId = {}.", id);
         return new UserShortDto(null,null);
       }
@@ -31,8 +46,26 @@ public class UserClientFallbackFactory implements FallbackFactory<UserClient> {
       @Override
       public List<UserShortDto> getUsers(List<Long> ids) {
         log.warn("Fallback: unable to call user-service - getUsers(). User IDs: {}.", ids);
-        return ids.stream().map(id -> new UserShortDto(null,null)).toList();
+        return lastKnownUsers.markServed(ids.stream()
+            .map(id -> findLastKnown(cause, id)
+                .map(StaleValue::value)
+                .orElseGet(() -> new UserShortDto(null, null)))
+            .toList());
       }
     };
   }
+
+  /**
+   * Returns the last user received with the ID, unless user-service has answered that it is not
+   * found.
+   */
+  private Optional<StaleValue<UserShortDto>> findLastKnown(final Throwable cause, final Long id) {
+    if (cause instanceof NotFoundException) {
+      return Optional.empty();
+    }
+    final Optional<StaleValue<UserShortDto>> user = lastKnownUsers.find(id);
+    user.ifPresent(stale -> log.warn("Fallback: serving user ID = {} received {} ago.", id,
+        stale.age()));
+    return user;
+  }
 }
@@ -4,13 +4,13 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import ru.practicum.api.UserOperations;
 import ru.practicum.comment.client.event.EventClient;
-import ru.practicum.comment.client.user.UserClient;
 import ru.practicum.comment.dto.CommentDto;
 import ru.practicum.comment.dto.GetCommentsAdminRequest;
 import ru.practicum.comment.mapper.CommentMapper;
 import ru.practicum.comment.model.Comment;
-import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.exception.NotFoundException;
 
 @Service
@@ -19,14 +19,14 @@ import ru.practicum.exception.NotFoundException;
 public class CommentProcessingServiceImpl implements CommentProcessingService {
 
   private final CommentService commentService;
-  private final UserClient userClient;
+  private final UserOperations userClient;
   private final EventClient eventClient;
 
   @Override
   public CommentDto addComment(final CommentDto commentDto) {
     log.debug("Saving a new comment: {}", commentDto);
     validateUserExists(commentDto.getUserId());
-    EventFullDto event = fetchEvent(commentDto.getEventId());
+    EventSummaryDto event = fetchEvent(commentDto.getEventId());
     Comment commentToSave = CommentMapper.mapTo(commentDto, commentDto.getUserId(), event.getId());
     Comment comment = commentService.addComment(commentToSave, event);
     return CommentMapper.mapToCommentDto(comment);
@@ -77,9 +77,9 @@ public class CommentProcessingServiceImpl implements CommentProcessingService {
     log.debug("Success: User ID {} is valid.", userId);
   }
 
-  private EventFullDto fetchEvent(final Long eventId) {
+  private EventSummaryDto fetchEvent(final Long eventId) {
     log.debug("Sending request to eventClient to get event with ID {}", eventId);
-    EventFullDto event = eventClient.getEvent(eventId);
+    EventSummaryDto event = eventClient.getEventSummary(eventId);
     log.debug("Got eventClient response: {}", event.getId());
     return event;
   }
@@ -4,11 +4,11 @@ import java.util.List;
 import ru.practicum.comment.dto.CommentDto;
 import ru.practicum.comment.dto.GetCommentsAdminRequest;
 import ru.practicum.comment.model.Comment;
-import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
 
 public interface CommentService {
 
-  Comment addComment(Comment comment, EventFullDto event);
+  Comment addComment(Comment comment, EventSummaryDto event);
 
   void delete(Long userId, Long commentId);
 
@@ -11,7 +11,7 @@ import ru.practicum.comment.dto.CommentDto;
 import ru.practicum.comment.dto.GetCommentsAdminRequest;
 import ru.practicum.comment.model.Comment;
 import ru.practicum.comment.repository.CommentRepository;
-import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.enums.State;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
@@ -28,7 +28,7 @@ public class CommentServiceImpl implements CommentService {
    * Saves a new comment for the published event initiated by a current user.
    */
   @Override
-  public Comment addComment(final Comment comment, final EventFullDto event) {
+  public Comment addComment(final Comment comment, final EventSummaryDto event) {
     Long userId = comment.getUserId();
 
     if (!State.PUBLISHED.equals(State.valueOf(event.getState()))) {
@@ -39,7 +39,7 @@ public class CommentServiceImpl implements CommentService {
 
     comment.setCreated(LocalDateTime.now());
 
-    if (userId.equals(event.getInitiator().getId())) {
+    if (userId.equals(event.getInitiatorId())) {
       comment.setInitiator(true);
     }
     return commentRepository.save(comment);
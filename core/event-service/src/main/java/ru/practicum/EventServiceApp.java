@@ -2,11 +2,15 @@ package ru.practicum;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @EnableFeignClients
+@EnableScheduling
+@ConfigurationPropertiesScan
 @SpringBootApplication
 @ComponentScan(basePackages = {
     "ru.practicum",
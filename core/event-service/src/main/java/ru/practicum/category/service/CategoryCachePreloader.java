@@ -0,0 +1,41 @@
+package ru.practicum.category.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.category.mapper.CategoryMapper;
+import ru.practicum.category.repository.CategoryRepository;
+import ru.practicum.config.ReferenceDataCacheConfiguration;
+
+/**
+ * Loads all categories into the cache on startup, so lookups by ID never reach the DB.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "event.reference-cache", name = "preload", matchIfMissing = true)
+public class CategoryCachePreloader {
+
+  private final CategoryRepository categoryRepository;
+  private final CacheManager cacheManager;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    final Cache cache = cacheManager.getCache(ReferenceDataCacheConfiguration.CATEGORY);
+    if (cache == null) {
+      return;
+    }
+    try {
+      categoryRepository.findAll().forEach(category ->
+          cache.put(category.getId(), CategoryMapper.toCategoryDto(category)));
+      log.info("Preloaded categories into the cache.");
+    } catch (RuntimeException e) {
+      log.warn("Failed to preload categories: {}.", e.getMessage());
+    }
+  }
+}
@@ -1,11 +1,20 @@
 package ru.practicum.category.service;
 
+import static ru.practicum.config.ReferenceDataCacheConfiguration.CATEGORY;
+import static ru.practicum.config.ReferenceDataCacheConfiguration.CATEGORY_PAGES;
+import static ru.practicum.config.ReferenceDataCacheConfiguration.COMPILATION;
+import static ru.practicum.config.ReferenceDataCacheConfiguration.COMPILATION_PAGES;
+
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.category.dto.*;
@@ -31,6 +40,9 @@ public class CategoryServiceImpl implements CategoryService {
    * Adding new category to the DB by Admin
    */
   @Override
+  @Caching(
+      put = @CachePut(cacheNames = CATEGORY, key = "#result.id"),
+      evict = @CacheEvict(cacheNames = CATEGORY_PAGES, allEntries = true))
   public CategoryDto addCategory(NewCategoryDto dto) {
     log.info("Validating category dto: {}", dto);
     if (categoryRepository.existsByName(dto.getName())) {
@@ -49,6 +61,7 @@ public class CategoryServiceImpl implements CategoryService {
    */
   @Override
   @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CATEGORY_PAGES, key = "#from + ':' + #size")
   public List<CategoryDto> getCategory(int from, int size) {
 
     Pageable pageable = PageRequest.of(from / size, size);
@@ -65,6 +78,7 @@ public class CategoryServiceImpl implements CategoryService {
    */
   @Override
   @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CATEGORY, key = "#id")
   public CategoryDto getCategoryById(Long id) {
     log.info("Get category by id: {}", id);
 
@@ -77,6 +91,12 @@ public class CategoryServiceImpl implements CategoryService {
    * Updates category name for a category with specified ID.
    */
   @Override
+  @Caching(
+      put = @CachePut(cacheNames = CATEGORY, key = "#id"),
+      evict = {
+          @CacheEvict(cacheNames = CATEGORY_PAGES, allEntries = true),
+          @CacheEvict(cacheNames = {COMPILATION, COMPILATION_PAGES}, allEntries = true)
+      })
   public CategoryDto updateCategory(Long id, NewCategoryDto dto) {
     log.info("Update category: {}", dto);
     Category category = categoryRepository.findById(id)
@@ -94,6 +114,10 @@ public class CategoryServiceImpl implements CategoryService {
    * Deletes category record from the DB, ensuring it is not related to any event.
    */
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CATEGORY, key = "#id"),
+      @CacheEvict(cacheNames = CATEGORY_PAGES, allEntries = true)
+  })
   public void deleteCategory(Long id) {
     log.info("Delete category by id: {}", id);
     if (!categoryRepository.existsById(id)) {
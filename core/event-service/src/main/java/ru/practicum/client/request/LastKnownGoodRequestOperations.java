@@ -0,0 +1,70 @@
+package ru.practicum.client.request;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.api.RequestOperations;
+import ru.practicum.cache.LastKnownValues;
+import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.dto.RequestStatusUpdateDto;
+import ru.practicum.dto.RequestStatusUpdateResultDto;
+
+/**
+ * {@link RequestOperations} recording confirmed requests counts received from request-service for
+ * the client fallback. After a fresh count it reloads, in the background, the counts the fallback
+ * has served stale.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LastKnownGoodRequestOperations implements RequestOperations {
+
+  private final RequestOperations delegate;
+  private final LastKnownValues<Long, Long> lastKnownConfirmed;
+
+  @Override
+  public List<ParticipationRequestDto> getAllEventRequests(final Long eventId) {
+    return delegate.getAllEventRequests(eventId);
+  }
+
+  @Override
+  public Map<Long, List<ParticipationRequestDto>> getConfirmedRequests(final List<Long> eventIds) {
+    return delegate.getConfirmedRequests(eventIds);
+  }
+
+  /**
+   * Events missing from a fresh response have no confirmed requests, so zero is recorded for them.
+   */
+  @Override
+  public Map<Long, Long> countConfirmedRequests(final List<Long> eventIds) {
+    final Map<Long, Long> counts = delegate.countConfirmedRequests(eventIds);
+    if (!lastKnownConfirmed.isServed(counts)) {
+      eventIds.forEach(eventId ->
+          lastKnownConfirmed.record(eventId, counts.getOrDefault(eventId, 0L)));
+      refreshServed();
+    }
+    return counts;
+  }
+
+  @Override
+  public RequestStatusUpdateResultDto updateRequestsStatus(final Long eventId,
+                                                           final RequestStatusUpdateDto update) {
+    return delegate.updateRequestsStatus(eventId, update);
+  }
+
+  private void refreshServed() {
+    final Set<Long> eventIds = lastKnownConfirmed.takeServedKeys();
+    if (eventIds.isEmpty()) {
+      return;
+    }
+    log.debug("Refreshing confirmed requests of {} events served stale.", eventIds.size());
+    Thread.ofVirtual().name("confirmed-requests-refresh").start(() -> {
+      try {
+        countConfirmedRequests(List.copyOf(eventIds));
+      } catch (RuntimeException e) {
+        log.warn("Failed to refresh confirmed requests served stale: {}.", e.getMessage());
+      }
+    });
+  }
+}
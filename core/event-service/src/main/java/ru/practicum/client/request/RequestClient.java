@@ -8,7 +8,8 @@ import ru.practicum.client.config.FeignClientConfiguration;
     name = "request-service",
     path = "/internal/requests",
     configuration = FeignClientConfiguration.class,
-    fallbackFactory = RequestClientFallbackFactory.class)
+    fallbackFactory = RequestClientFallbackFactory.class,
+    primary = false)
 public interface RequestClient extends RequestOperations {
 
 
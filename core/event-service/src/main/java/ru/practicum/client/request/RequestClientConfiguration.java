@@ -0,0 +1,30 @@
+package ru.practicum.client.request;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import ru.practicum.api.RequestOperations;
+import ru.practicum.cache.LastKnownValues;
+import ru.practicum.event.service.EventEnrichmentProperties;
+
+/**
+ * Keeps the last confirmed requests counts received through {@link RequestClient} for its
+ * fallback.
+ */
+@Configuration
+public class RequestClientConfiguration {
+
+  @Bean
+  public LastKnownValues<Long, Long> lastKnownConfirmedRequests(
+      final EventEnrichmentProperties properties) {
+    return new LastKnownValues<>(properties.getStaleMaxSize(), properties.getStaleMaxAge());
+  }
+
+  @Bean
+  @Primary
+  public RequestOperations lastKnownGoodRequestOperations(
+      final RequestClient requestClient,
+      final LastKnownValues<Long, Long> lastKnownConfirmedRequests) {
+    return new LastKnownGoodRequestOperations(requestClient, lastKnownConfirmedRequests);
+  }
+}
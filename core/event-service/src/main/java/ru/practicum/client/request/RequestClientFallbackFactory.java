@@ -1,16 +1,27 @@
 package ru.practicum.client.request;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.openfeign.FallbackFactory;
 import org.springframework.stereotype.Component;
+import ru.practicum.cache.LastKnownValues;
 import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.dto.RequestStatusUpdateDto;
+import ru.practicum.dto.RequestStatusUpdateResultDto;
+import ru.practicum.exception.BadRequestException;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.exception.NotFoundException;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class RequestClientFallbackFactory implements FallbackFactory<RequestClient> {
 
+  private final LastKnownValues<Long, Long> lastKnownConfirmedRequests;
+
   @Override
   public RequestClient create(Throwable cause) {
     log.warn("Request Client Fallback triggered, CAUSE: {}.", cause.getMessage(), cause);
@@ -30,16 +41,26 @@ public class RequestClientFallbackFactory implements FallbackFactory<RequestClie
       }
 
       @Override
-      public List<ParticipationRequestDto> updateRequests(List<ParticipationRequestDto> requestsToUpdate) {
-        log.warn("Fallback: unable to call request-service - updateRequests(). Requests: {}.", requestsToUpdate);
-        return List.of();
+      public Map<Long, Long> countConfirmedRequests(List<Long> eventIds) {
+        log.warn("Fallback: unable to call request-service - countConfirmedRequests(). Event IDs: {}.", eventIds);
+        final Map<Long, Long> counts = new HashMap<>();
+        eventIds.forEach(eventId -> lastKnownConfirmedRequests.find(eventId).ifPresent(stale -> {
+          log.warn("Fallback: serving confirmed requests of event ID = {} received {} ago.", eventId,
+              stale.age());
+          counts.put(eventId, stale.value());
+        }));
+        return lastKnownConfirmedRequests.markServed(counts);
       }
 
       @Override
-      public List<ParticipationRequestDto> getEventPendingRequests(List<Long> requestIds, Long eventId) {
-        log.warn("Fallback: unable to call request-service - getPendingRequests(). Request IDs: {}, Event ID = {}.",
-            requestIds, eventId);
-        return List.of();
+      public RequestStatusUpdateResultDto updateRequestsStatus(Long eventId, RequestStatusUpdateDto update) {
+        if (cause instanceof ConflictException || cause instanceof NotFoundException
+            || cause instanceof BadRequestException) {
+          throw (RuntimeException) cause;
+        }
+        log.warn("Fallback: unable to call request-service - updateRequestsStatus(). Event ID = {}, update: {}.",
+            eventId, update);
+        throw new ConflictException("Participation requests of the event cannot be updated now.");
       }
     };
   }
@@ -8,7 +8,8 @@ import ru.practicum.client.config.FeignClientConfiguration;
     name = "user-service",
     path = "/internal/users",
     configuration = FeignClientConfiguration.class,
-    fallbackFactory = UserClientFallbackFactory.class)
+    fallbackFactory = UserClientFallbackFactory.class,
+    primary = false)
 public interface UserClient extends UserOperations {
 
 }
@@ -17,7 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.dto.NewCompilationDto;
 import ru.practicum.compilation.dto.UpdateCompilationRequest;
-import ru.practicum.compilation.service.CompilationService;
+import ru.practicum.compilation.service.CompilationProcessingService;
 
 @RestController
 @RequestMapping("/admin/compilations")
@@ -26,7 +26,7 @@ import ru.practicum.compilation.service.CompilationService;
 @Validated
 public class AdminCompilationController {
 
-  private final CompilationService service;
+  private final CompilationProcessingService service;
 
   @PostMapping
   public ResponseEntity<CompilationDto> saveCompilation(@Validated @RequestBody NewCompilationDto compDto) {
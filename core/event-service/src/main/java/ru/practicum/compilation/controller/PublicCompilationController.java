@@ -15,7 +15,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.dto.CompilationParam;
-import ru.practicum.compilation.service.CompilationService;
+import ru.practicum.compilation.service.CompilationProcessingService;
+import ru.practicum.event.dto.EventShortDto;
 
 @RestController
 @RequestMapping("/compilations")
@@ -24,7 +25,7 @@ import ru.practicum.compilation.service.CompilationService;
 @Validated
 public class PublicCompilationController {
 
-  private final CompilationService service;
+  private final CompilationProcessingService service;
 
   @GetMapping
   public ResponseEntity<List<CompilationDto>> get(@RequestParam(required = false) Boolean pinned,
@@ -46,4 +47,14 @@ public class PublicCompilationController {
     return ResponseEntity.status(HttpStatus.OK).body(compilation);
   }
 
+  @GetMapping("/{compId}/events")
+  public ResponseEntity<List<EventShortDto>> getEvents(@PathVariable("compId") @Positive Long compId,
+                                                       @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                       @RequestParam(defaultValue = "10") @Positive Integer size) {
+    log.info("Request received GET /compilations/{}/events, from {}, size {}.", compId, from, size);
+    final List<EventShortDto> events = service.getEvents(compId, from, size);
+    log.info("Returning {} events of compilation with ID {}.", events.size(), compId);
+    return ResponseEntity.status(HttpStatus.OK).body(events);
+  }
+
 }
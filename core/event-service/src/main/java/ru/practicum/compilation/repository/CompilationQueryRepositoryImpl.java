@@ -4,9 +4,11 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Root;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -22,24 +24,53 @@ public class CompilationQueryRepositoryImpl implements CompilationQueryRepositor
 
   private final EntityManager entityManager;
 
+  /**
+   * Selects one page of compilation IDs first and then loads only those compilations with their
+   * events and categories, so the page is cut in the DB rather than from the whole join in memory.
+   */
   @Override
   public List<Compilation> findAllBy(final CompilationParam param) {
+    final List<Long> ids = findIdsBy(param);
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    final Map<Long, Integer> positions = new HashMap<>();
+    for (int i = 0; i < ids.size(); i++) {
+      positions.put(ids.get(i), i);
+    }
+    return entityManager.createQuery("""
+            SELECT DISTINCT c
+            FROM Compilation c
+            LEFT JOIN FETCH c.events e
+            LEFT JOIN FETCH e.category
+            WHERE c.id IN :ids
+            """, Compilation.class)
+        .setParameter("ids", ids)
+        .getResultList().stream()
+        .sorted(Comparator.comparing(compilation -> positions.get(compilation.getId())))
+        .toList();
+  }
+
+  private List<Long> findIdsBy(final CompilationParam param) {
     Pageable page = PageRequest.of(param.getFrom() / param.getSize(), param.getSize());
     CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Compilation> query = cb.createQuery(Compilation.class);
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
 
     Root<Compilation> compilationTable = query.from(Compilation.class);
-    compilationTable.fetch("events", JoinType.LEFT);
+    query.select(compilationTable.get("id"));
 
     if (param.getPinned() != null) {
       query.where(cb.equal(compilationTable.get("pinned"), param.getPinned()));
     }
+    query.orderBy(cb.asc(compilationTable.get("id")));
 
-    TypedQuery<Compilation> typedQuery = entityManager.createQuery(query);
+    TypedQuery<Long> typedQuery = entityManager.createQuery(query);
     typedQuery.setFirstResult(page.getPageNumber() * page.getPageSize());
     typedQuery.setMaxResults(page.getPageSize());
 
-    return typedQuery.getResultList();
+    final List<Long> ids = typedQuery.getResultList();
+    log.debug("Found compilation IDs {} for {}.", ids, param);
+    return ids;
   }
 
 }
@@ -0,0 +1,35 @@
+package ru.practicum.compilation.service;
+
+import java.util.List;
+import ru.practicum.compilation.dto.CompilationDto;
+import ru.practicum.compilation.dto.CompilationParam;
+import ru.practicum.compilation.dto.NewCompilationDto;
+import ru.practicum.compilation.dto.UpdateCompilationRequest;
+import ru.practicum.event.dto.EventShortDto;
+
+public interface CompilationProcessingService {
+
+  /**
+   * Saves a new compilation; may contain no events.
+   */
+  CompilationDto save(NewCompilationDto compilationDto);
+
+  void delete(Long compId);
+
+  /**
+   * Updates the compilation by ID with the given data.
+   */
+  CompilationDto update(Long compId, UpdateCompilationRequest compDto);
+
+  /**
+   * Retrieves compilations by the filters defined in the CompilationParam.
+   */
+  List<CompilationDto> get(CompilationParam searchParam);
+
+  CompilationDto get(Long compId);
+
+  /**
+   * Retrieves one page of events of the compilation with their views and confirmed requests.
+   */
+  List<EventShortDto> getEvents(Long compId, Integer from, Integer size);
+}
@@ -0,0 +1,102 @@
+package ru.practicum.compilation.service;
+
+import static ru.practicum.config.ReferenceDataCacheConfiguration.COMPILATION;
+import static ru.practicum.config.ReferenceDataCacheConfiguration.COMPILATION_PAGES;
+
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import ru.practicum.compilation.dto.CompilationDto;
+import ru.practicum.compilation.dto.CompilationParam;
+import ru.practicum.compilation.dto.NewCompilationDto;
+import ru.practicum.compilation.dto.UpdateCompilationRequest;
+import ru.practicum.compilation.mapper.CompilationMapper;
+import ru.practicum.compilation.model.Compilation;
+import ru.practicum.event.dto.EventShortDto;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.service.EventProcessingService;
+
+/**
+ * Enriches compilation events with data of other services outside of the DB transactions of
+ * {@link CompilationService}, so no connection or row lock is held during remote calls.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompilationProcessingServiceImpl implements CompilationProcessingService {
+
+  private final CompilationService compilationService;
+  private final EventProcessingService eventProcessingService;
+
+  @Override
+  @Caching(
+      put = @CachePut(cacheNames = COMPILATION, key = "#result.id"),
+      evict = @CacheEvict(cacheNames = COMPILATION_PAGES, allEntries = true))
+  public CompilationDto save(final NewCompilationDto compilationDto) {
+    final Compilation compilation = compilationService.save(compilationDto);
+    enrichEvents(List.of(compilation));
+    return CompilationMapper.toCompilationDto(compilation);
+  }
+
+  @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = COMPILATION, key = "#compId"),
+      @CacheEvict(cacheNames = COMPILATION_PAGES, allEntries = true)
+  })
+  public void delete(final Long compId) {
+    compilationService.delete(compId);
+  }
+
+  @Override
+  @Caching(
+      put = @CachePut(cacheNames = COMPILATION, key = "#compId"),
+      evict = @CacheEvict(cacheNames = COMPILATION_PAGES, allEntries = true))
+  public CompilationDto update(final Long compId, final UpdateCompilationRequest compDto) {
+    final Compilation compilation = compilationService.update(compId, compDto);
+    enrichEvents(List.of(compilation));
+    return CompilationMapper.toCompilationDto(compilation);
+  }
+
+  @Override
+  @Cacheable(cacheNames = COMPILATION_PAGES, key = "#searchParam")
+  public List<CompilationDto> get(final CompilationParam searchParam) {
+    Objects.requireNonNull(searchParam);
+    final List<Compilation> compilations = compilationService.get(searchParam);
+    enrichEvents(compilations);
+    return CompilationMapper.toCompilationDto(compilations);
+  }
+
+  @Override
+  @Cacheable(cacheNames = COMPILATION, key = "#compId")
+  public CompilationDto get(final Long compId) {
+    final Compilation compilation = compilationService.get(compId);
+    enrichEvents(List.of(compilation));
+    return CompilationMapper.toCompilationDto(compilation);
+  }
+
+  @Override
+  public List<EventShortDto> getEvents(final Long compId, final Integer from, final Integer size) {
+    compilationService.validateExists(compId);
+    return eventProcessingService.getCompilationEvents(compId, from, size);
+  }
+
+  /**
+   * Sets initiators, views and confirmed requests to the distinct events of all the compilations
+   * in one pass, so a page of compilations costs one call to each service.
+   */
+  private void enrichEvents(final List<Compilation> compilations) {
+    final List<Event> events = compilations.stream()
+        .filter(compilation -> compilation.getEvents() != null)
+        .flatMap(compilation -> compilation.getEvents().stream())
+        .distinct()
+        .toList();
+    log.debug("Enriching {} events of {} compilations.", events.size(), compilations.size());
+    eventProcessingService.enrich(events);
+  }
+}
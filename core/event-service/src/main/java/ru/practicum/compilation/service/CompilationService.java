@@ -1,20 +1,22 @@
 package ru.practicum.compilation.service;
 
 import java.util.List;
-import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.dto.CompilationParam;
 import ru.practicum.compilation.dto.NewCompilationDto;
 import ru.practicum.compilation.dto.UpdateCompilationRequest;
+import ru.practicum.compilation.model.Compilation;
 
 public interface CompilationService {
 
-  CompilationDto save(NewCompilationDto compilationDto);
+  Compilation save(NewCompilationDto compilationDto);
 
   void delete(Long compId);
 
-  CompilationDto update(Long compId, UpdateCompilationRequest compDto);
+  Compilation update(Long compId, UpdateCompilationRequest compDto);
 
-  List<CompilationDto> get(CompilationParam searchParam);
+  List<Compilation> get(CompilationParam searchParam);
 
-  CompilationDto get(Long compId);
+  Compilation get(Long compId);
+
+  void validateExists(Long compId);
 }
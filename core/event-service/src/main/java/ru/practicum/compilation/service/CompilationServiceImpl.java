@@ -9,7 +9,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.compilation.dto.CompilationDto;
 import ru.practicum.compilation.dto.CompilationParam;
 import ru.practicum.compilation.dto.NewCompilationDto;
 import ru.practicum.compilation.dto.UpdateCompilationRequest;
@@ -34,7 +33,7 @@ public class CompilationServiceImpl implements CompilationService {
    * Saves new compilation; may contain NO events.
    */
   @Override
-  public CompilationDto save(final NewCompilationDto compilationDto) {
+  public Compilation save(final NewCompilationDto compilationDto) {
     log.debug("Saving new compilation with data {}.", compilationDto);
     final Set<Event> events = compilationDto.getEvents() == null || compilationDto.getEvents().isEmpty()
         ? Set.of()
@@ -43,7 +42,7 @@ public class CompilationServiceImpl implements CompilationService {
 
     try {
       final Compilation savedCompilation = compilationRepository.save(toSave);
-      return CompilationMapper.toCompilationDto(fetchCompilation(savedCompilation.getId()));
+      return fetchCompilation(savedCompilation.getId());
     } catch (ConstraintViolationException exception) {
       log.warn("Could not execute statement. Title should be unique.");
       throw new ConflictException("Could not execute statement. Title should be unique.");
@@ -65,14 +64,13 @@ public class CompilationServiceImpl implements CompilationService {
    * Updates compilations by ID with new given data.
    */
   @Override
-  public CompilationDto update(final Long compId, final UpdateCompilationRequest compDto) {
+  public Compilation update(final Long compId, final UpdateCompilationRequest compDto) {
     log.debug("Updating the compilation ID = {} with data {}.", compId, compDto);
     validateExists(compId);
     final Compilation compilation = fetchCompilation(compId);
     patchCompilationData(compilation, compDto);
     try {
-      compilationRepository.save(compilation);
-      return CompilationMapper.toCompilationDto(compilation);
+      return compilationRepository.save(compilation);
     } catch (ConstraintViolationException exception) {
       log.warn("Could not update compilation. Title should be unique.");
       throw new ConflictException("Could not execute statement. Title should be unique.");
@@ -83,19 +81,19 @@ public class CompilationServiceImpl implements CompilationService {
    * Retrieves Event Compilations by specified filters defined in the CompilationParam.
    */
   @Override
-  public List<CompilationDto> get(final CompilationParam searchParam) {
+  @Transactional(readOnly = true)
+  public List<Compilation> get(final CompilationParam searchParam) {
     Objects.requireNonNull(searchParam);
-    final List<Compilation> compilations = compilationRepository.findAllBy(searchParam);
-    return CompilationMapper.toCompilationDto(compilations);
+    return compilationRepository.findAllBy(searchParam);
   }
 
   /**
    * Retrieves Event Compilation info by its ID.
    */
   @Override
-  public CompilationDto get(final Long compId) {
-    final Compilation compilation = fetchCompilation(compId);
-    return CompilationMapper.toCompilationDto(compilation);
+  @Transactional(readOnly = true)
+  public Compilation get(final Long compId) {
+    return fetchCompilation(compId);
   }
 
   private void patchCompilationData(final Compilation target, final UpdateCompilationRequest dataSource) {
@@ -116,7 +114,9 @@ public class CompilationServiceImpl implements CompilationService {
     return compilation;
   }
 
-  private void validateExists(final Long compId) {
+  @Override
+  @Transactional(readOnly = true)
+  public void validateExists(final Long compId) {
     log.debug("Validating Compilation record ID {} exists in the DB.", compId);
     if (!compilationRepository.existsById(compId)) {
       log.warn("Compilation ID {} was not found.", compId);
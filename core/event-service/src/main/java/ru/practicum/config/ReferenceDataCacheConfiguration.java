@@ -0,0 +1,44 @@
+package ru.practicum.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches of categories and compilations. Changes are applied to the caches only after the
+ * transaction commits, so a concurrent read cannot cache the data being replaced. Hit and miss
+ * counts are published through actuator as {@code cache.gets} metrics.
+ */
+@Configuration
+@EnableCaching
+public class ReferenceDataCacheConfiguration {
+
+  public static final String CATEGORY = "category";
+  public static final String CATEGORY_PAGES = "categoryPages";
+  public static final String COMPILATION = "compilation";
+  public static final String COMPILATION_PAGES = "compilationPages";
+
+  @Bean
+  public CacheManager cacheManager(final ReferenceDataCacheProperties properties) {
+    final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setCaffeine(Caffeine.newBuilder()
+        .maximumSize(properties.getMaxSize())
+        .expireAfterWrite(properties.getTtl())
+        .recordStats());
+    cacheManager.setCacheNames(List.of(CATEGORY, CATEGORY_PAGES));
+    cacheManager.setAllowNullValues(false);
+    for (final String name : List.of(COMPILATION, COMPILATION_PAGES)) {
+      cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+          .maximumSize(properties.getMaxSize())
+          .expireAfterWrite(properties.getCompilationTtl())
+          .recordStats()
+          .build());
+    }
+    return new TransactionAwareCacheManagerProxy(cacheManager);
+  }
+}
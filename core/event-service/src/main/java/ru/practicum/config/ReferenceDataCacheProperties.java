@@ -0,0 +1,36 @@
+package ru.practicum.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the in-process caches of categories and compilations.
+ */
+@ConfigurationProperties(prefix = "event.reference-cache")
+@Getter
+@Setter
+public class ReferenceDataCacheProperties {
+
+  /**
+   * Maximum number of entries of every cache.
+   */
+  private long maxSize = 1_000;
+
+  /**
+   * Entries are evicted on every change made through this instance; the expiry bounds how long
+   * other instances may serve data changed elsewhere.
+   */
+  private Duration ttl = Duration.ofMinutes(10);
+
+  /**
+   * Expiry of compilations, which carry views and confirmed requests of their events.
+   */
+  private Duration compilationTtl = Duration.ofMinutes(1);
+
+  /**
+   * Whether all categories are loaded into the cache when the application starts.
+   */
+  private boolean preload = true;
+}
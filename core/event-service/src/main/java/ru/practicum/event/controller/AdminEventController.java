@@ -1,5 +1,6 @@
 package ru.practicum.event.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.dto.EventFullDto;
+import ru.practicum.event.dto.EventPage;
 import ru.practicum.event.dto.GetEventAdminRequest;
 import ru.practicum.event.dto.UpdateEventAdminRequest;
 import ru.practicum.event.service.EventProcessingService;
@@ -34,8 +36,10 @@ public class AdminEventController {
                                             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeStart,
                                             @RequestParam(value = "rangeEnd", required = false)
                                             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
+                                            @RequestParam(value = "cursor", required = false) String cursor,
                                             @RequestParam(value = "from", required = false, defaultValue = "0") int from,
-                                            @RequestParam(value = "size", required = false, defaultValue = "10") int size) {
+                                            @RequestParam(value = "size", required = false, defaultValue = "10") int size,
+                                            HttpServletResponse response) {
 
         GetEventAdminRequest param = new GetEventAdminRequest()
             .setUsers(users)
@@ -43,12 +47,16 @@ public class AdminEventController {
             .setCategories(categories)
             .setRangeStart(rangeStart)
             .setRangeEnd(rangeEnd)
+            .setCursor(cursor)
             .setFrom(from)
             .setSize(size);
         log.info("Received request GET /admin/events with param {}", param);
-        List<EventFullDto> events = eventService.getEvents(param);
-        log.info("Returning events list with {} events ", events.size());
-        return events;
+        EventPage<EventFullDto> events = eventService.getEvents(param);
+        if (events.nextCursor() != null) {
+            response.setHeader(EventPage.NEXT_CURSOR_HEADER, events.nextCursor());
+        }
+        log.info("Returning events list with {} events ", events.events().size());
+        return events.events();
     }
 
     @PatchMapping("/{eventId}")
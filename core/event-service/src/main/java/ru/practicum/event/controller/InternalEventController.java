@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.api.EventOperations;
 import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.event.service.EventProcessingService;
 
 @RestController
@@ -30,6 +31,16 @@ public class InternalEventController implements EventOperations {
     return event;
   }
 
+  @Override
+  @GetMapping("/{eventId}/summary")
+  public EventSummaryDto getEventSummary(@PathVariable("eventId") @Positive Long eventId) {
+    log.info("Request received GET /internal/events/{}/summary to retrieve an event summary.",
+        eventId);
+    final EventSummaryDto event = eventService.getEventSummary(eventId);
+    log.info("Sending event ID={} summary.", event.getId());
+    return event;
+  }
+
   @Override
   @GetMapping("/{eventId}/exists")
   public boolean existsById(@PathVariable("eventId") @Positive Long eventId) {
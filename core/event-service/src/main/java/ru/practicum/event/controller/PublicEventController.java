@@ -1,6 +1,7 @@
 package ru.practicum.event.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +12,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.BufferedStatsClient;
 import ru.practicum.EndPointHitDto;
-import ru.practicum.StatsClient;
 import ru.practicum.dto.EventFullDto;
+import ru.practicum.event.dto.EventClusterDto;
+import ru.practicum.event.dto.EventPage;
 import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.dto.GetEventPublicParam;
 import ru.practicum.event.enums.SortType;
+import ru.practicum.event.model.GeoBox;
 import ru.practicum.event.service.EventProcessingService;
 
 @RestController
@@ -26,7 +30,7 @@ import ru.practicum.event.service.EventProcessingService;
 public class PublicEventController {
 
   private final EventProcessingService eventService;
-  private final StatsClient statsClient;
+  private final BufferedStatsClient statsClient;
 
   @GetMapping
   public List<EventShortDto> getEvents(@RequestParam(value = "text", required = false) String text,
@@ -39,9 +43,18 @@ public class PublicEventController {
                                        @RequestParam(value = "onlyAvailable", required = false, defaultValue = "false")
                                        boolean onlyAvailable,
                                        @RequestParam(value = "sort", required = false) SortType sort,
+                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                       @RequestParam(value = "lat", required = false) Double lat,
+                                       @RequestParam(value = "lon", required = false) Double lon,
+                                       @RequestParam(value = "radius", required = false) Double radius,
+                                       @RequestParam(value = "south", required = false) Double south,
+                                       @RequestParam(value = "west", required = false) Double west,
+                                       @RequestParam(value = "north", required = false) Double north,
+                                       @RequestParam(value = "east", required = false) Double east,
                                        @RequestParam(value = "from", required = false, defaultValue = "0") int from,
                                        @RequestParam(value = "size", required = false, defaultValue = "10") int size,
-                                       HttpServletRequest request) {
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) {
     GetEventPublicParam params = new GetEventPublicParam()
         .setText(text)
         .setCategories(categories)
@@ -50,14 +63,39 @@ public class PublicEventController {
         .setRangeEnd(rangeEnd)
         .setOnlyAvailable(onlyAvailable)
         .setSort(sort)
+        .setCursor(cursor)
+        .setLat(lat)
+        .setLon(lon)
+        .setRadius(radius)
+        .setSouth(south)
+        .setWest(west)
+        .setNorth(north)
+        .setEast(east)
         .setFrom(from)
         .setSize(size);
 
     log.info("Request received GET /events with params {}", params);
-    List<EventShortDto> events = eventService.getEvents(params, request);
-    log.info("Events received: {}", events);
-    saveHitStatistic(request);
-    return events;
+    EventPage<EventShortDto> events = eventService.getEvents(params, request);
+    log.info("Events received: {}", events.events());
+    if (events.nextCursor() != null) {
+      response.setHeader(EventPage.NEXT_CURSOR_HEADER, events.nextCursor());
+    }
+    statsClient.saveEndpointHit(toHit(request));
+    log.info("Endpoint hit action queued.");
+    return events.events();
+  }
+
+  @GetMapping("/map")
+  public List<EventClusterDto> getEventClusters(@RequestParam("zoom") int zoom,
+                                                @RequestParam("south") double south,
+                                                @RequestParam("west") double west,
+                                                @RequestParam("north") double north,
+                                                @RequestParam("east") double east) {
+    log.info("Request received GET /events/map at zoom {}", zoom);
+    List<EventClusterDto> clusters =
+        eventService.getClusters(new GeoBox(south, west, north, east), zoom);
+    log.info("Event clusters received: {}", clusters.size());
+    return clusters;
   }
 
   @GetMapping("/{eventId}")
@@ -65,18 +103,19 @@ public class PublicEventController {
     log.info("Request received GET /events with id {}", eventId);
     EventFullDto event = eventService.getPublishedEvent(eventId);
     log.info("Event received: {}", event);
-    saveHitStatistic(request);
+    // sent before responding, so that the next read of the event already counts this view
+    statsClient.sendEndpointHit(toHit(request));
+    log.info("Endpoint hit action sent.");
     return event;
   }
 
-  private void saveHitStatistic(HttpServletRequest request) {
+  private EndPointHitDto toHit(HttpServletRequest request) {
     log.info("Sending endpoint hit statistic info.");
     EndPointHitDto hitDto = new EndPointHitDto();
     hitDto.setApp("explore-with-me");
     hitDto.setUri(request.getRequestURI());
     hitDto.setIp(request.getRemoteAddr());
     hitDto.setRequestTime(LocalDateTime.now());
-    statsClient.saveEndpointHit(hitDto);
-    log.info("Endpoint hit action saved.");
+    return hitDto;
   }
 }
@@ -0,0 +1,24 @@
+package ru.practicum.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Used in the PUBLIC API - as RESPONSE
+ * <p> GET /events/map
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class EventClusterDto {
+
+  private Integer zoom;
+  private Long x;
+  private Long y;
+  private Long count;
+  private Double lat;
+  private Double lon;
+}
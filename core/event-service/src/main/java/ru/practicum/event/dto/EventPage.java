@@ -0,0 +1,20 @@
+package ru.practicum.event.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of events and the continuation token of the next page, {@code null} on the last page.
+ */
+public record EventPage<T>(List<T> events, String nextCursor) {
+
+  /**
+   * Response header carrying {@link #nextCursor()}; its value is passed back as the {@code cursor}
+   * request parameter to get the next page.
+   */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  public <R> EventPage<R> map(final Function<List<T>, List<R>> mapper) {
+    return new EventPage<>(mapper.apply(events), nextCursor);
+  }
+}
@@ -26,6 +26,7 @@ public class GetEventAdminRequest {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime rangeEnd;
 
+    private String cursor;
     private Integer from;
     private Integer size;
 }
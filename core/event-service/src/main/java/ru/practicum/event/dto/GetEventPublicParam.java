@@ -32,6 +32,14 @@ public class GetEventPublicParam {
   private LocalDateTime rangeEnd;
   private Boolean onlyAvailable = false;
   private SortType sort;
+  private String cursor;
+  private Double lat;
+  private Double lon;
+  private Double radius;
+  private Double south;
+  private Double west;
+  private Double north;
+  private Double east;
 
   @Min(value = 0, message = "Offset 'from' must be zero or positive.")
   private Integer from;
@@ -8,13 +8,20 @@ import java.util.Objects;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.category.mapper.CategoryMapper;
+import ru.practicum.dto.CategoryDto;
 import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.dto.UserShortDto;
+import ru.practicum.event.dto.EventClusterDto;
 import ru.practicum.event.dto.EventRequestStatusUpdateResult;
 import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.dto.NewEventDto;
 import ru.practicum.enums.State;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventCluster;
+import ru.practicum.event.model.EventShortView;
+import ru.practicum.event.model.EventSummary;
 
 @UtilityClass
 @Slf4j
@@ -75,6 +82,22 @@ public class EventMapper {
         event.getViews());
   }
 
+  public static EventShortDto toShortDto(final EventShortView event, final UserShortDto initiator,
+                                         final Integer confirmedRequests, final Long views) {
+    log.debug("Mapping EventShortView {} to the EventShortDto.", event);
+    Objects.requireNonNull(event);
+    return new EventShortDto(
+        event.annotation(),
+        new CategoryDto(event.categoryId(), event.categoryName()),
+        confirmedRequests,
+        event.eventDate(),
+        event.id(),
+        initiator,
+        event.paid(),
+        event.title(),
+        views);
+  }
+
   public static List<EventShortDto> toShortDto(final Collection<Event> events) {
     if (events == null || events.isEmpty()) {
       return Collections.emptyList();
@@ -84,6 +107,13 @@ public class EventMapper {
         .toList();
   }
 
+  public static EventSummaryDto toSummaryDto(final EventSummary event) {
+    log.debug("Mapping EventSummary {} to the EventSummaryDto.", event);
+    Objects.requireNonNull(event);
+    return new EventSummaryDto(event.id(), event.state().name(), event.initiatorId(),
+        event.participantLimit(), event.requestModeration());
+  }
+
   public static EventRequestStatusUpdateResult toEventRequestStatusUpdateResult(
       final List<ParticipationRequestDto> confirmedRequests,
       final List<ParticipationRequestDto> rejectedRequests) {
@@ -92,4 +122,12 @@ public class EventMapper {
         .setConfirmedRequests(confirmedRequests)
         .setRejectedRequests(rejectedRequests);
   }
+
+  public static List<EventClusterDto> toClusterDto(final List<EventCluster> clusters) {
+    log.debug("Mapping {} event clusters to the EventClusterDto.", clusters.size());
+    return clusters.stream()
+        .map(cluster -> new EventClusterDto(cluster.zoom(), cluster.x(), cluster.y(),
+            cluster.count(), cluster.lat(), cluster.lon()))
+        .toList();
+  }
 }
@@ -90,4 +90,16 @@ public class Event {
 
   @Transient
   private Long views = 0L;
+
+  /**
+   * Confirmed requests as last copied from request-service; used only to filter public searches.
+   */
+  @Column(name = "confirmed_requests", insertable = false, updatable = false)
+  private Long rankedConfirmedRequests = 0L;
+
+  /**
+   * Views as last copied from stats-server; used only to sort public searches.
+   */
+  @Column(name = "views", insertable = false, updatable = false)
+  private Long rankedViews = 0L;
 }
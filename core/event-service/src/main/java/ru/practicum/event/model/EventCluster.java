@@ -0,0 +1,9 @@
+package ru.practicum.event.model;
+
+/**
+ * Published events falling into one map tile: the tile coordinates at the zoom level, the number of
+ * events and their mean position.
+ */
+public record EventCluster(int zoom, long x, long y, long count, double lat, double lon) {
+
+}
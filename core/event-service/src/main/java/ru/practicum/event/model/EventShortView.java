@@ -0,0 +1,21 @@
+package ru.practicum.event.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of an event needed to build {@link ru.practicum.event.dto.EventShortDto}, read without
+ * loading the entity.
+ */
+public record EventShortView(
+    Long id,
+    String annotation,
+    Long categoryId,
+    String categoryName,
+    LocalDateTime eventDate,
+    Boolean paid,
+    String title,
+    Long initiatorId,
+    LocalDateTime createdOn
+) {
+
+}
@@ -0,0 +1,17 @@
+package ru.practicum.event.model;
+
+import ru.practicum.enums.State;
+
+/**
+ * Columns of an event other services check before writing data of the event, read without
+ * loading the entity.
+ */
+public record EventSummary(
+    Long id,
+    State state,
+    Long initiatorId,
+    Integer participantLimit,
+    Boolean requestModeration
+) {
+
+}
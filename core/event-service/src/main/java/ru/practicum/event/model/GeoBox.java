@@ -0,0 +1,41 @@
+package ru.practicum.event.model;
+
+/**
+ * Area between two parallels and two meridians, in degrees. A box with {@code west} greater than
+ * {@code east} crosses the antimeridian.
+ */
+public record GeoBox(double south, double west, double north, double east) {
+
+  /**
+   * Latitude limit of the Web Mercator projection; points beyond it fall into the edge tiles.
+   */
+  public static final double MERCATOR_MAX_LAT = 85.0511;
+
+  public boolean crossesAntimeridian() {
+    return west > east;
+  }
+
+  /**
+   * Returns the number of Web Mercator tiles of the zoom level the box overlaps.
+   */
+  public long tileCount(final int zoom) {
+    final long tiles = 1L << zoom;
+    final long columns = crossesAntimeridian()
+        ? Math.min(tiles - tileX(west, tiles) + tileX(east, tiles) + 1, tiles)
+        : tileX(east, tiles) - tileX(west, tiles) + 1;
+    final long rows = tileY(south, tiles) - tileY(north, tiles) + 1;
+    return columns * rows;
+  }
+
+  private static long tileX(final double lon, final long tiles) {
+    return Math.min((long) Math.floor((lon + 180) / 360 * tiles), tiles - 1);
+  }
+
+  private static long tileY(final double lat, final long tiles) {
+    final double mercatorLat = Math.toRadians(
+        Math.max(-MERCATOR_MAX_LAT, Math.min(lat, MERCATOR_MAX_LAT)));
+    final double y = (1 - Math.log(Math.tan(mercatorLat) + 1 / Math.cos(mercatorLat)) / Math.PI)
+        / 2 * tiles;
+    return Math.min(Math.max((long) Math.floor(y), 0), tiles - 1);
+  }
+}
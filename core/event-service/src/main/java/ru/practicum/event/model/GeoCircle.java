@@ -0,0 +1,35 @@
+package ru.practicum.event.model;
+
+/**
+ * Area within {@code radiusKm} kilometres of a point, in degrees.
+ */
+public record GeoCircle(double lat, double lon, double radiusKm) {
+
+  public static final double EARTH_RADIUS_KM = 6371.0088;
+
+  /**
+   * Returns the smallest box containing the circle, used to narrow the search by index before the
+   * exact distance check.
+   */
+  public GeoBox boundingBox() {
+    final double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+    final double south = lat - latDelta;
+    final double north = lat + latDelta;
+    if (south <= -90 || north >= 90) {
+      return new GeoBox(Math.max(south, -90), -180, Math.min(north, 90), 180);
+    }
+    final double ratio = Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(lat));
+    if (ratio >= 1) {
+      return new GeoBox(south, -180, north, 180);
+    }
+    final double lonDelta = Math.toDegrees(Math.asin(ratio));
+    return new GeoBox(south, normalizeLon(lon - lonDelta), north, normalizeLon(lon + lonDelta));
+  }
+
+  private static double normalizeLon(final double lon) {
+    if (lon < -180) {
+      return lon + 360;
+    }
+    return lon > 180 ? lon - 360 : lon;
+  }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.event.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import ru.practicum.exception.BadRequestException;
+
+/**
+ * Position after the last event of a page: the value of the sort key and the event ID, encoded as
+ * an opaque URL-safe token.
+ */
+record EventCursor(SortKey sortKey, String value, long id) {
+
+  enum SortKey {
+    ID,
+    EVENT_DATE,
+    VIEWS,
+    RELEVANCE
+  }
+
+  private static final String SEPARATOR = "|";
+
+  String encode() {
+    final String raw = sortKey.name() + SEPARATOR + (value == null ? "" : value) + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static EventCursor decode(final String token, final SortKey expected) {
+    try {
+      final String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      final String[] parts = raw.split("\\|", -1);
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Unexpected number of cursor parts.");
+      }
+      final EventCursor cursor = new EventCursor(SortKey.valueOf(parts[0]),
+          parts[1].isEmpty() ? null : parts[1], Long.parseLong(parts[2]));
+      if (cursor.sortKey() != expected) {
+        throw new BadRequestException("Cursor was issued for a different sort order.");
+      }
+      return cursor;
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor.");
+    }
+  }
+}
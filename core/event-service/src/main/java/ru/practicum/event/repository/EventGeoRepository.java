@@ -0,0 +1,15 @@
+package ru.practicum.event.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import ru.practicum.event.model.EventCluster;
+import ru.practicum.event.model.GeoBox;
+
+public interface EventGeoRepository {
+
+  /**
+   * Counts published events taking place after {@code after} inside the box, per Web Mercator tile
+   * of the zoom level.
+   */
+  List<EventCluster> findClusters(GeoBox box, int zoom, LocalDateTime after);
+}
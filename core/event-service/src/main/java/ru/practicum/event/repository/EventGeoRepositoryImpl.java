@@ -0,0 +1,76 @@
+package ru.practicum.event.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.event.model.EventCluster;
+import ru.practicum.event.model.GeoBox;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class EventGeoRepositoryImpl implements EventGeoRepository {
+
+  private static final String SELECT_CLUSTERS = """
+      SELECT tile_x, tile_y, COUNT(*) AS events, AVG(latitude) AS lat, AVG(longitude) AS lon
+      FROM (
+          SELECT latitude,
+                 longitude,
+                 LEAST(FLOOR((longitude + 180) / 360 * ?), ? - 1) AS tile_x,
+                 LEAST(GREATEST(FLOOR((1 - LN(TAN(RADIANS(mercator_lat))
+                     + 1 / COS(RADIANS(mercator_lat))) / PI()) / 2 * ?), 0), ? - 1) AS tile_y
+          FROM (
+              SELECT latitude,
+                     longitude,
+                     LEAST(GREATEST(latitude, ?), ?) AS mercator_lat
+              FROM event
+              WHERE state = 'PUBLISHED'
+                AND event_date > ?
+                AND %s
+          ) located
+      ) tiled
+      GROUP BY tile_x, tile_y
+      ORDER BY tile_y, tile_x
+      """;
+
+  /**
+   * Served by the GiST index over the location points of published events.
+   */
+  private static final String POINT_IN_BOX =
+      "point(longitude, latitude) <@ box(point(?, ?), point(?, ?))";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public List<EventCluster> findClusters(final GeoBox box, final int zoom,
+                                         final LocalDateTime after) {
+    final long tiles = 1L << zoom;
+    final List<Object> args = new ArrayList<>(List.of(tiles, tiles, tiles, tiles,
+        -GeoBox.MERCATOR_MAX_LAT, GeoBox.MERCATOR_MAX_LAT, Timestamp.valueOf(after)));
+    final String location;
+    if (box.crossesAntimeridian()) {
+      location = "(" + POINT_IN_BOX + " OR " + POINT_IN_BOX + ")";
+      args.addAll(List.of(box.west(), box.south(), 180.0, box.north(),
+          -180.0, box.south(), box.east(), box.north()));
+    } else {
+      location = POINT_IN_BOX;
+      args.addAll(List.of(box.west(), box.south(), box.east(), box.north()));
+    }
+    final List<EventCluster> clusters = jdbcTemplate.query(SELECT_CLUSTERS.formatted(location),
+        (rs, rowNum) -> new EventCluster(
+            zoom,
+            rs.getLong("tile_x"),
+            rs.getLong("tile_y"),
+            rs.getLong("events"),
+            rs.getDouble("lat"),
+            rs.getDouble("lon")),
+        args.toArray());
+    log.debug("Found {} event clusters at zoom {} in {}.", clusters.size(), zoom, box);
+    return clusters;
+  }
+}
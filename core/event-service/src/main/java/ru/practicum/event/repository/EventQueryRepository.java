@@ -1,29 +1,37 @@
 package ru.practicum.event.repository;
 
+import ru.practicum.event.dto.EventPage;
 import ru.practicum.event.enums.SortType;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventShortView;
+import ru.practicum.event.model.GeoBox;
+import ru.practicum.event.model.GeoCircle;
 
 public interface EventQueryRepository {
 
-  List<Event> adminFindEvents(final List<Long> users,
-                              final List<String> states,
-                              final List<Long> categories,
-                              final LocalDateTime rangeStart,
-                              final LocalDateTime rangeEnd,
-                              int from,
-                              int size);
+  EventPage<Event> adminFindEvents(final List<Long> users,
+                                   final List<String> states,
+                                   final List<Long> categories,
+                                   final LocalDateTime rangeStart,
+                                   final LocalDateTime rangeEnd,
+                                   final String cursor,
+                                   int from,
+                                   int size);
 
-  List<Event> publicGetPublishedEvents(final String text,
-                                       final List<Long> categories,
-                                       final Boolean paid,
-                                       final LocalDateTime rangeStart,
-                                       final LocalDateTime rangeEnd,
-                                       final Boolean onlyAvailable,
-                                       final SortType sort,
-                                       final int from,
-                                       final int size
+  EventPage<EventShortView> publicGetPublishedEvents(final String text,
+                                            final List<Long> categories,
+                                            final Boolean paid,
+                                            final LocalDateTime rangeStart,
+                                            final LocalDateTime rangeEnd,
+                                            final Boolean onlyAvailable,
+                                            final GeoCircle circle,
+                                            final GeoBox box,
+                                            final SortType sort,
+                                            final String cursor,
+                                            final int from,
+                                            final int size
                                               );
 }
@@ -1,21 +1,33 @@
 package ru.practicum.event.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
+import ru.practicum.category.model.Category;
 import ru.practicum.enums.State;
+import ru.practicum.event.dto.EventPage;
 import ru.practicum.event.enums.SortType;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventShortView;
+import ru.practicum.event.model.GeoBox;
+import ru.practicum.event.model.GeoCircle;
+import ru.practicum.event.repository.EventCursor.SortKey;
+import ru.practicum.exception.BadRequestException;
 
 @Slf4j
 @Repository
@@ -28,13 +40,14 @@ public class EventQueryRepositoryImpl implements EventQueryRepository {
   }
 
   @Override
-  public List<Event> adminFindEvents(final List<Long> users,
-                                     final List<String> states,
-                                     final List<Long> categories,
-                                     final LocalDateTime rangeStart,
-                                     final LocalDateTime rangeEnd,
-                                     int from,
-                                     int size) {
+  public EventPage<Event> adminFindEvents(final List<Long> users,
+                                          final List<String> states,
+                                          final List<Long> categories,
+                                          final LocalDateTime rangeStart,
+                                          final LocalDateTime rangeEnd,
+                                          final String cursor,
+                                          int from,
+                                          int size) {
     log.debug("Staring fetching events");
 
     final EventQueryFilter filter = EventQueryFilter.builder()
@@ -43,6 +56,7 @@ public class EventQueryRepositoryImpl implements EventQueryRepository {
         .categories(categories)
         .rangeStart(rangeStart)
         .rangeEnd(rangeEnd)
+        .cursor(cursor)
         .from(from)
         .size(size)
         .publicEvents(false)
@@ -52,15 +66,18 @@ public class EventQueryRepositoryImpl implements EventQueryRepository {
   }
 
   @Override
-  public List<Event> publicGetPublishedEvents(final String text,
-                                              final List<Long> categories,
-                                              final Boolean paid,
-                                              final LocalDateTime rangeStart,
-                                              final LocalDateTime rangeEnd,
-                                              final Boolean onlyAvailable,
-                                              final SortType sort,
-                                              final int from,
-                                              final int size) {
+  public EventPage<EventShortView> publicGetPublishedEvents(final String text,
+                                                            final List<Long> categories,
+                                                            final Boolean paid,
+                                                            final LocalDateTime rangeStart,
+                                                            final LocalDateTime rangeEnd,
+                                                            final Boolean onlyAvailable,
+                                                            final GeoCircle circle,
+                                                            final GeoBox box,
+                                                            final SortType sort,
+                                                            final String cursor,
+                                                            final int from,
+                                                            final int size) {
 
     log.debug("Staring fetching published events");
     final EventQueryFilter filter = EventQueryFilter.builder()
@@ -69,21 +86,89 @@ public class EventQueryRepositoryImpl implements EventQueryRepository {
         .paid(paid)
         .rangeStart(rangeStart)
         .rangeEnd(rangeEnd)
+        .onlyAvailable(Boolean.TRUE.equals(onlyAvailable))
+        .circle(circle)
+        .box(box)
         .sort(sort)
+        .cursor(cursor)
         .from(from)
         .size(size)
         .publicEvents(true)
         .build();
 
-    return findEventsByFilter(filter);
+    return findShortViewsByFilter(filter);
+  }
+
+  private EventPage<Event> findEventsByFilter(final EventQueryFilter filter) {
+    return findEventsByFilter(filter, new EventSelection<>() {
+
+      @Override
+      public List<Selection<?>> select(Root<Event> root) {
+        root.fetch("category", JoinType.LEFT);
+        return List.of(root);
+      }
+
+      @Override
+      public Event map(Tuple row) {
+        return row.get(0, Event.class);
+      }
+
+      @Override
+      public Long getId(Event event) {
+        return event.getId();
+      }
+    });
+  }
+
+  /**
+   * Reads only the columns of {@link EventShortView}; the category is joined instead of fetched.
+   */
+  private EventPage<EventShortView> findShortViewsByFilter(final EventQueryFilter filter) {
+    return findEventsByFilter(filter, new EventSelection<>() {
+
+      @Override
+      public List<Selection<?>> select(Root<Event> root) {
+        Join<Event, Category> category = root.join("category");
+        return List.of(
+            root.get("id"),
+            root.get("annotation"),
+            category.get("id"),
+            category.get("name"),
+            root.get("eventDate"),
+            root.get("paid"),
+            root.get("title"),
+            root.get("initiatorId"),
+            root.get("createdOn"));
+      }
+
+      @Override
+      public EventShortView map(Tuple row) {
+        return new EventShortView(
+            row.get(0, Long.class),
+            row.get(1, String.class),
+            row.get(2, Long.class),
+            row.get(3, String.class),
+            row.get(4, LocalDateTime.class),
+            row.get(5, Boolean.class),
+            row.get(6, String.class),
+            row.get(7, Long.class),
+            row.get(8, LocalDateTime.class));
+      }
+
+      @Override
+      public Long getId(EventShortView event) {
+        return event.id();
+      }
+    });
   }
 
-  private List<Event> findEventsByFilter(final EventQueryFilter filter) {
+  private <T> EventPage<T> findEventsByFilter(final EventQueryFilter filter,
+                                              final EventSelection<T> selection) {
     CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Event> query = cb.createQuery(Event.class);
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
 
     Root<Event> eventTable = query.from(Event.class);
-    eventTable.fetch("category", JoinType.LEFT);
+    List<Selection<?>> selections = new ArrayList<>(selection.select(eventTable));
 
     Predicate predicate = cb.conjunction();
     predicate = cb.and(predicate, createUsersPredicate(cb, eventTable, filter));
@@ -92,11 +177,18 @@ public class EventQueryRepositoryImpl implements EventQueryRepository {
     predicate = cb.and(predicate, createDateRangePredicate(cb, eventTable, filter));
     predicate = cb.and(predicate, createTextSearchPredicate(cb, eventTable, filter));
     predicate = cb.and(predicate, createPaidPredicates(cb, eventTable, filter));
+    predicate = cb.and(predicate, createAvailablePredicate(cb, eventTable, filter));
+    predicate = cb.and(predicate, createGeoPredicate(cb, eventTable, filter));
+
+    final SortKey sortKey = resolveSortKey(filter);
+    final Expression<?> sortValue = createSortValue(cb, eventTable, filter, sortKey);
+    predicate = cb.and(predicate, createCursorPredicate(cb, eventTable, filter, sortKey, sortValue));
 
-    query.select(eventTable).where(predicate);
-    applySorting(query, cb, eventTable, filter.getSort());
+    selections.add(sortValue);
+    query.multiselect(selections).where(predicate);
+    applySorting(query, cb, eventTable, sortKey, sortValue);
 
-    return fetchResults(query, filter.getFrom(), filter.getSize());
+    return fetchResults(query, filter, sortKey, selection);
   }
 
   private Predicate createUsersPredicate(CriteriaBuilder cb, Root<Event> root,
@@ -165,22 +257,203 @@ public class EventQueryRepositoryImpl implements EventQueryRepository {
         : cb.conjunction();
   }
 
+  private Predicate createAvailablePredicate(CriteriaBuilder cb, Root<Event> root,
+                                             EventQueryFilter filter) {
+    if (!filter.isOnlyAvailable()) {
+      return cb.conjunction();
+    }
+    return cb.or(
+        cb.equal(root.get("participantLimit"), 0),
+        cb.lessThan(root.get("rankedConfirmedRequests"),
+            root.get("participantLimit").as(Long.class))
+    );
+  }
+
+  /**
+   * Keeps events inside the box and within the circle. The circle is first narrowed to its bounding
+   * box, which the GiST location index serves, and then checked by the haversine distance.
+   */
+  private Predicate createGeoPredicate(CriteriaBuilder cb, Root<Event> root,
+                                       EventQueryFilter filter) {
+    Predicate predicate = cb.conjunction();
+    if (filter.getBox() != null) {
+      predicate = cb.and(predicate, createBoxPredicate(cb, root, filter.getBox()));
+    }
+    final GeoCircle circle = filter.getCircle();
+    if (circle != null) {
+      predicate = cb.and(predicate, createBoxPredicate(cb, root, circle.boundingBox()));
 
-  private List<Event> fetchResults(CriteriaQuery<Event> query, int from, int size) {
-    TypedQuery<Event> typedQuery = entityManager.createQuery(query);
-    typedQuery.setFirstResult(from);
-    typedQuery.setMaxResults(size);
-    return typedQuery.getResultList();
+      final double lat0 = Math.toRadians(circle.lat());
+      final double lon0 = Math.toRadians(circle.lon());
+      final Expression<Double> lat = radians(cb, root.get("location").get("lat"));
+      final Expression<Double> lon = radians(cb, root.get("location").get("lon"));
+      final Expression<Double> sinHalfLat = sin(cb, cb.prod(cb.diff(lat, lat0), 0.5));
+      final Expression<Double> sinHalfLon = sin(cb, cb.prod(cb.diff(lon, lon0), 0.5));
+      final Expression<Double> haversine = cb.sum(
+          cb.prod(sinHalfLat, sinHalfLat),
+          cb.prod(cb.prod(cos(cb, lat), Math.cos(lat0)), cb.prod(sinHalfLon, sinHalfLon)));
+      final double limit = Math.sin(circle.radiusKm() / GeoCircle.EARTH_RADIUS_KM / 2);
+      predicate = cb.and(predicate, cb.lessThanOrEqualTo(haversine, limit * limit));
+    }
+    return predicate;
   }
 
-  private void applySorting(CriteriaQuery<Event> query, CriteriaBuilder cb,
-                            Root<Event> root, SortType sort) {
-    if (sort == null) {
-      return;
+  /**
+   * A box crossing the antimeridian is split in two at it, as a geometric box cannot wrap around.
+   */
+  private Predicate createBoxPredicate(CriteriaBuilder cb, Root<Event> root, GeoBox box) {
+    if (box.crossesAntimeridian()) {
+      return cb.or(
+          createPointInBoxPredicate(cb, root, box.south(), box.west(), box.north(), 180),
+          createPointInBoxPredicate(cb, root, box.south(), -180, box.north(), box.east()));
     }
-    if (sort == SortType.EVENT_DATE) {
-      query.orderBy(cb.asc(root.get("eventDate")));
+    return createPointInBoxPredicate(cb, root, box.south(), box.west(), box.north(), box.east());
+  }
+
+  private Predicate createPointInBoxPredicate(CriteriaBuilder cb, Root<Event> root, double south,
+                                              double west, double north, double east) {
+    return cb.isTrue(cb.function(GeoFunctionContributor.POINT_IN_BOX, Boolean.class,
+        root.get("location").get("lon"), root.get("location").get("lat"),
+        cb.literal(west), cb.literal(south), cb.literal(east), cb.literal(north)));
+  }
+
+  private Expression<Double> radians(CriteriaBuilder cb, Expression<?> degrees) {
+    return cb.function("radians", Double.class, degrees);
+  }
+
+  private Expression<Double> sin(CriteriaBuilder cb, Expression<?> radians) {
+    return cb.function("sin", Double.class, radians);
+  }
+
+  private Expression<Double> cos(CriteriaBuilder cb, Expression<?> radians) {
+    return cb.function("cos", Double.class, radians);
+  }
+
+  private <T> EventPage<T> fetchResults(CriteriaQuery<Tuple> query, EventQueryFilter filter,
+                                        SortKey sortKey, EventSelection<T> selection) {
+    TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+    typedQuery.setFirstResult(filter.getCursor() == null ? filter.getFrom() : 0);
+    typedQuery.setMaxResults(filter.getSize());
+    List<Tuple> rows = typedQuery.getResultList();
+
+    List<T> events = rows.stream().map(selection::map).toList();
+    String nextCursor = null;
+    if (!rows.isEmpty() && rows.size() == filter.getSize()) {
+      Tuple last = rows.getLast();
+      Object sortValue = last.get(last.getElements().size() - 1);
+      nextCursor = new EventCursor(sortKey, formatCursorValue(sortKey, sortValue),
+          selection.getId(events.getLast())).encode();
+    }
+    return new EventPage<>(events, nextCursor);
+  }
+
+  private SortKey resolveSortKey(EventQueryFilter filter) {
+    if (filter.getSort() == SortType.EVENT_DATE) {
+      return SortKey.EVENT_DATE;
+    }
+    if (filter.getSort() == SortType.VIEWS) {
+      return SortKey.VIEWS;
+    }
+    if (filter.getText() != null && !filter.getText().trim().isEmpty()) {
+      return SortKey.RELEVANCE;
+    }
+    return SortKey.ID;
+  }
+
+  /**
+   * Returns the value events are ordered by before their ID. Events matching the search text are
+   * ranked by how closely a word sequence of the annotation or description matches the text
+   * (pg_trgm {@code word_similarity}).
+   */
+  private Expression<?> createSortValue(CriteriaBuilder cb, Root<Event> root,
+                                        EventQueryFilter filter, SortKey sortKey) {
+    return switch (sortKey) {
+      case EVENT_DATE -> root.get("eventDate");
+      case VIEWS -> root.get("rankedViews");
+      case RELEVANCE -> {
+        final Expression<String> text = cb.literal(filter.getText().trim().toLowerCase());
+        yield cb.function("greatest", Double.class,
+            cb.function("word_similarity", Double.class, text, cb.lower(root.get("annotation"))),
+            cb.function("word_similarity", Double.class, text, cb.lower(root.get("description"))));
+      }
+      case ID -> root.get("id");
+    };
+  }
+
+  private boolean isDescending(SortKey sortKey) {
+    return sortKey == SortKey.VIEWS || sortKey == SortKey.RELEVANCE;
+  }
+
+  /**
+   * Restricts the results to events positioned after the cursor: further in the sort order, or
+   * equal by the sort value and with a greater ID.
+   */
+  @SuppressWarnings("unchecked")
+  private Predicate createCursorPredicate(CriteriaBuilder cb, Root<Event> root,
+                                          EventQueryFilter filter, SortKey sortKey,
+                                          Expression<?> sortValue) {
+    if (filter.getCursor() == null) {
+      return cb.conjunction();
+    }
+    final EventCursor cursor = EventCursor.decode(filter.getCursor(), sortKey);
+    final Predicate afterId = cb.greaterThan(root.get("id"), cursor.id());
+    if (sortKey == SortKey.ID) {
+      return afterId;
     }
+    final Comparable<Object> value = (Comparable<Object>) parseCursorValue(cursor);
+    final Expression<Comparable<Object>> key = (Expression<Comparable<Object>>) sortValue;
+    final Predicate further = isDescending(sortKey)
+        ? cb.lessThan(key, value)
+        : cb.greaterThan(key, value);
+    return cb.or(further, cb.and(cb.equal(key, value), afterId));
+  }
+
+  /**
+   * Relevance is stored with the exact binary value of the database {@code real}, so the event
+   * the cursor points at compares equal to it on the next page.
+   */
+  private String formatCursorValue(SortKey sortKey, Object value) {
+    if (sortKey == SortKey.ID || value == null) {
+      return null;
+    }
+    return sortKey == SortKey.RELEVANCE
+        ? Double.toString(((Number) value).doubleValue())
+        : value.toString();
+  }
+
+  private Comparable<?> parseCursorValue(EventCursor cursor) {
+    try {
+      return switch (cursor.sortKey()) {
+        case EVENT_DATE -> LocalDateTime.parse(cursor.value());
+        case VIEWS -> Long.valueOf(cursor.value());
+        case RELEVANCE -> Double.valueOf(cursor.value());
+        case ID -> cursor.id();
+      };
+    } catch (RuntimeException e) {
+      throw new BadRequestException("Invalid cursor.");
+    }
+  }
+
+  private void applySorting(CriteriaQuery<Tuple> query, CriteriaBuilder cb, Root<Event> root,
+                            SortKey sortKey, Expression<?> sortValue) {
+    if (sortKey == SortKey.ID) {
+      query.orderBy(cb.asc(root.get("id")));
+      return;
+    }
+    query.orderBy(isDescending(sortKey) ? cb.desc(sortValue) : cb.asc(sortValue),
+        cb.asc(root.get("id")));
+  }
+
+  /**
+   * What a search query reads for every event and how a result row is turned into a page item.
+   */
+  private interface EventSelection<T> {
+
+    List<Selection<?>> select(Root<Event> root);
+
+    T map(Tuple row);
+
+    Long getId(T item);
   }
 
   @Data
@@ -193,9 +466,13 @@ public class EventQueryRepositoryImpl implements EventQueryRepository {
     private Boolean paid;
     private String text;
     private boolean publicEvents;
+    private boolean onlyAvailable;
+    private GeoCircle circle;
+    private GeoBox box;
     private SortType sort;
     private LocalDateTime rangeStart;
     private LocalDateTime rangeEnd;
+    private String cursor;
     private int from;
     private int size;
   }
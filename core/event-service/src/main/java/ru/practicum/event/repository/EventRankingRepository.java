@@ -0,0 +1,23 @@
+package ru.practicum.event.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Access to the confirmed requests and views copied into the event table for public searches.
+ */
+public interface EventRankingRepository {
+
+  /**
+   * Returns creation times of up to {@code limit} published events taking place after
+   * {@code after}, with IDs greater than {@code afterId}, in ID order.
+   */
+  Map<Long, LocalDateTime> findUpcomingPublishedAfterId(LocalDateTime after, long afterId,
+                                                        int limit);
+
+  /**
+   * Writes the counts of the events present in each map; columns of events missing from a map are
+   * left as they are.
+   */
+  void updateRanking(Map<Long, Long> confirmedRequests, Map<Long, Long> views);
+}
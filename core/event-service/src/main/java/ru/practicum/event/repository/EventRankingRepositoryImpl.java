@@ -0,0 +1,74 @@
+package ru.practicum.event.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class EventRankingRepositoryImpl implements EventRankingRepository {
+
+  private static final String SELECT_UPCOMING = """
+      SELECT id, created_on
+      FROM event
+      WHERE state = 'PUBLISHED'
+        AND event_date > ?
+        AND id > ?
+      ORDER BY id
+      LIMIT ?
+      """;
+
+  /**
+   * A {@code null} count keeps the current value of its column.
+   */
+  private static final String UPDATE_RANKING = """
+      UPDATE event
+      SET confirmed_requests = COALESCE(?, confirmed_requests),
+          views = COALESCE(?, views)
+      WHERE id = ?
+        AND (confirmed_requests <> COALESCE(?, confirmed_requests)
+          OR views <> COALESCE(?, views))
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public Map<Long, LocalDateTime> findUpcomingPublishedAfterId(final LocalDateTime after,
+                                                               final long afterId,
+                                                               final int limit) {
+    final Map<Long, LocalDateTime> createdOn = new LinkedHashMap<>();
+    jdbcTemplate.query(SELECT_UPCOMING,
+        rs -> {
+          createdOn.put(rs.getLong("id"), rs.getTimestamp("created_on").toLocalDateTime());
+        },
+        Timestamp.valueOf(after), afterId, limit);
+    return createdOn;
+  }
+
+  @Override
+  public void updateRanking(final Map<Long, Long> confirmedRequests, final Map<Long, Long> views) {
+    final Set<Long> eventIdSet = new TreeSet<>(confirmedRequests.keySet());
+    eventIdSet.addAll(views.keySet());
+    final List<Long> eventIds = List.copyOf(eventIdSet);
+    jdbcTemplate.batchUpdate(UPDATE_RANKING, eventIds, eventIds.size(), (ps, eventId) -> {
+      final Long confirmed = confirmedRequests.get(eventId);
+      final Long viewed = views.get(eventId);
+      ps.setObject(1, confirmed, Types.BIGINT);
+      ps.setObject(2, viewed, Types.BIGINT);
+      ps.setLong(3, eventId);
+      ps.setObject(4, confirmed, Types.BIGINT);
+      ps.setObject(5, viewed, Types.BIGINT);
+    });
+    log.debug("Updated ranking of {} events.", eventIds.size());
+  }
+}
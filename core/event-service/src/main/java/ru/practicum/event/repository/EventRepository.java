@@ -1,18 +1,30 @@
 package ru.practicum.event.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.enums.State;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventShortView;
+import ru.practicum.event.model.EventSummary;
 
-public interface EventRepository extends JpaRepository<Event, Long>, EventQueryRepository {
+public interface EventRepository extends JpaRepository<Event, Long>, EventQueryRepository,
+    EventRankingRepository, EventGeoRepository {
 
-  Page<Event> findAllByInitiatorId(Long initiatorId, PageRequest page);
+  @Query("""
+      SELECT new ru.practicum.event.model.EventShortView(e.id, e.annotation, c.id, c.name,
+          e.eventDate, e.paid, e.title, e.initiatorId, e.createdOn)
+      FROM Event e
+      JOIN e.category c
+      WHERE e.initiatorId = :initiatorId
+      ORDER BY e.id
+      """)
+  List<EventShortView> findShortViewsByInitiatorId(@Param("initiatorId") Long initiatorId,
+                                                   Pageable page);
 
   @Query("""
       SELECT e
@@ -26,6 +38,26 @@ public interface EventRepository extends JpaRepository<Event, Long>, EventQueryR
 
   Optional<Event> findByIdAndState(Long id, State state);
 
+  @Query("""
+      SELECT new ru.practicum.event.model.EventSummary(e.id, e.state, e.initiatorId,
+          e.participantLimit, e.requestModeration)
+      FROM Event e
+      WHERE e.id = :eventId
+      """)
+  Optional<EventSummary> findSummaryById(@Param("eventId") Long eventId);
+
+  @Query("""
+      SELECT new ru.practicum.event.model.EventShortView(e.id, e.annotation, c.id, c.name,
+          e.eventDate, e.paid, e.title, e.initiatorId, e.createdOn)
+      FROM Compilation comp
+      JOIN comp.events e
+      JOIN e.category c
+      WHERE comp.id = :compilationId
+      ORDER BY e.id
+      """)
+  List<EventShortView> findShortViewsByCompilationId(@Param("compilationId") Long compilationId,
+                                                     Pageable page);
+
   boolean existsByCategoryId(Long id);
 
   Set<Event> findAllDistinctByIdIn(Set<Long> eventIds);
@@ -0,0 +1,26 @@
+package ru.practicum.event.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@value #POINT_IN_BOX}(lon, lat, west, south, east, north) for criteria queries. It
+ * renders the containment test of the location point in the box, which the GiST index over
+ * {@code point(longitude, latitude)} serves.
+ */
+public class GeoFunctionContributor implements FunctionContributor {
+
+  public static final String POINT_IN_BOX = "point_in_box";
+
+  @Override
+  public void contributeFunctions(final FunctionContributions functionContributions) {
+    functionContributions.getFunctionRegistry()
+        .patternDescriptorBuilder(POINT_IN_BOX,
+            "(point(?1, ?2) <@ box(point(?3, ?4), point(?5, ?6)))")
+        .setExactArgumentCount(6)
+        .setInvariantType(functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+            .resolve(StandardBasicTypes.BOOLEAN))
+        .register();
+  }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.event.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Runs calls to other services on virtual threads and collects their results within a deadline.
+ */
+@Component
+@Slf4j
+public class EventEnrichmentExecutor {
+
+  private final EventEnrichmentProperties properties;
+  private final ExecutorService executor;
+
+  public EventEnrichmentExecutor(final EventEnrichmentProperties properties) {
+    this.properties = properties;
+    this.executor = properties.isParallel() ? Executors.newVirtualThreadPerTaskExecutor() : null;
+  }
+
+  /**
+   * Starts the call; when parallel enrichment is disabled, it is completed on the caller thread.
+   * The call is submitted to the executor directly so that cancelling it interrupts its thread,
+   * and runs with the attributes of the current request, where stale fallback values are reported.
+   */
+  public <T> Future<T> submit(final Supplier<T> call) {
+    if (executor == null) {
+      try {
+        return CompletableFuture.completedFuture(call.get());
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return executor.submit(() -> {
+      RequestContextHolder.setRequestAttributes(attributes);
+      try {
+        return call.get();
+      } finally {
+        RequestContextHolder.resetRequestAttributes();
+      }
+    });
+  }
+
+  /**
+   * Returns the nano time by which all calls started for one response must complete.
+   */
+  public long deadline() {
+    return System.nanoTime() + properties.getTimeout().toNanos();
+  }
+
+  /**
+   * Returns the call result, or the fallback if the call failed or did not complete by the deadline.
+   */
+  public <T> T await(final Future<T> call, final long deadline, final T fallback,
+                     final String name) {
+    try {
+      return call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      call.cancel(true);
+      log.warn("Enrichment call {} did not complete in {}, leaving its data empty.", name,
+          properties.getTimeout());
+    } catch (ExecutionException e) {
+      log.warn("Enrichment call {} failed, leaving its data empty: {}.", name,
+          e.getCause().getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      call.cancel(true);
+      log.warn("Interrupted while waiting for enrichment call {}.", name);
+    }
+    return fallback;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.event.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of loading initiators, views and confirmed requests of events from other services.
+ */
+@ConfigurationProperties(prefix = "event.enrichment")
+@Getter
+@Setter
+public class EventEnrichmentProperties {
+
+  /**
+   * Whether the calls to user-service, stats-server and request-service run concurrently.
+   */
+  private boolean parallel = true;
+
+  /**
+   * How long a response waits for all calls; data of calls not completed in time is left empty.
+   */
+  private Duration timeout = Duration.ofSeconds(5);
+
+  /**
+   * How long the last confirmed requests count of an event is served while request-service fails.
+   */
+  private Duration staleMaxAge = Duration.ofMinutes(30);
+
+  private long staleMaxSize = 10_000;
+}
@@ -3,15 +3,20 @@ package ru.practicum.event.service;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.event.dto.EventClusterDto;
 import ru.practicum.event.dto.EventRequestStatusUpdateRequest;
 import ru.practicum.event.dto.EventRequestStatusUpdateResult;
+import ru.practicum.event.dto.EventPage;
 import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.dto.GetEventAdminRequest;
 import ru.practicum.event.dto.GetEventPublicParam;
 import ru.practicum.event.dto.NewEventDto;
 import ru.practicum.event.dto.UpdateEventAdminRequest;
 import ru.practicum.event.dto.UpdateEventUserRequest;
+import ru.practicum.event.model.Event;
+import ru.practicum.event.model.GeoBox;
 
 public interface EventProcessingService {
 
@@ -40,6 +45,12 @@ public interface EventProcessingService {
    */
   EventFullDto getEvent(Long eventId);
 
+  /**
+   * Retrieves the state, initiator and participation settings of an event by its ID, without
+   * calling other services.
+   */
+  EventSummaryDto getEventSummary(Long eventId);
+
   /**
    * Retrieves detailed information about a published event by its ID.
    */
@@ -48,18 +59,33 @@ public interface EventProcessingService {
   /**
    * Retrieves all existed in DB events (performed by ADMIN).
    */
-  List<EventFullDto> getEvents(GetEventAdminRequest param);
+  EventPage<EventFullDto> getEvents(GetEventAdminRequest param);
 
   /**
    * Retrieving published events with filtering options.
    */
-  List<EventShortDto> getEvents(GetEventPublicParam param, HttpServletRequest request);
+  EventPage<EventShortDto> getEvents(GetEventPublicParam param, HttpServletRequest request);
 
   /**
    * Retries all events created by current user.
    */
   List<EventShortDto> getEvents(Long initiatorId, Integer from, Integer size);
 
+  /**
+   * Sets initiators, views and confirmed requests to the events with one call to each service.
+   */
+  void enrich(List<Event> events);
+
+  /**
+   * Retrieves one page of events of the compilation.
+   */
+  List<EventShortDto> getCompilationEvents(Long compilationId, Integer from, Integer size);
+
+  /**
+   * Counts upcoming published events inside the box per map tile of the zoom level.
+   */
+  List<EventClusterDto> getClusters(GeoBox box, Integer zoom);
+
   /**
    * Retrieves information about participation requests for the current user's event.
    */
@@ -2,28 +2,29 @@ package ru.practicum.event.service;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import ru.practicum.StatsClient;
-import ru.practicum.ViewStatsDto;
-import ru.practicum.client.request.RequestClient;
-import ru.practicum.client.user.UserClient;
+import ru.practicum.api.RequestOperations;
+import ru.practicum.api.UserOperations;
 import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.dto.RequestStatusUpdateDto;
+import ru.practicum.dto.RequestStatusUpdateResultDto;
 import ru.practicum.dto.UserShortDto;
 import ru.practicum.enums.State;
 import ru.practicum.enums.StatusRequest;
+import ru.practicum.event.dto.EventClusterDto;
 import ru.practicum.event.dto.EventRequestStatusUpdateRequest;
 import ru.practicum.event.dto.EventRequestStatusUpdateResult;
+import ru.practicum.event.dto.EventPage;
 import ru.practicum.event.dto.EventShortDto;
 import ru.practicum.event.dto.GetEventAdminRequest;
 import ru.practicum.event.dto.GetEventPublicParam;
@@ -32,7 +33,9 @@ import ru.practicum.event.dto.UpdateEventAdminRequest;
 import ru.practicum.event.dto.UpdateEventUserRequest;
 import ru.practicum.event.mapper.EventMapper;
 import ru.practicum.event.model.Event;
-import ru.practicum.exception.ConflictException;
+import ru.practicum.event.model.EventShortView;
+import ru.practicum.event.model.GeoBox;
+import ru.practicum.event.views.EventViewsCache;
 import ru.practicum.exception.NotFoundException;
 
 @Service
@@ -42,9 +45,10 @@ public class EventProcessingServiceImpl implements EventProcessingService {
 
   private final EventService eventService;
 
-  private final UserClient userClient;
-  private final RequestClient requestClient;
-  private final StatsClient statsClient;
+  private final UserOperations userClient;
+  private final RequestOperations requestClient;
+  private final EventViewsCache viewsCache;
+  private final EventEnrichmentExecutor enrichmentExecutor;
 
   /**
    * Saves a new event data initiated by a current user.
@@ -73,11 +77,7 @@ public class EventProcessingServiceImpl implements EventProcessingService {
     log.debug("Updating event, ID:{} with data:{}. Performed by ADMIN.", eventId, param);
 
     final Event eventUpdated = eventService.updateEvent(eventId, param);
-    final UserShortDto initiator = getUser(eventUpdated.getInitiatorId());
-
-    eventUpdated.setInitiator(initiator);
-    setViews(List.of(eventUpdated));
-    setConfirmedRequests(List.of(eventUpdated));
+    enrich(List.of(eventUpdated));
 
     return EventMapper.toFullDto(eventUpdated);
   }
@@ -96,11 +96,7 @@ public class EventProcessingServiceImpl implements EventProcessingService {
         userId);
 
     final Event eventUpdated = eventService.updateEvent(userId, eventId, eventDto);
-    final UserShortDto initiator = getUser(eventUpdated.getInitiatorId());
-
-    eventUpdated.setInitiator(initiator);
-    setViews(List.of(eventUpdated));
-    setConfirmedRequests(List.of(eventUpdated));
+    enrich(List.of(eventUpdated));
 
     return EventMapper.toFullDto(eventUpdated);
   }
@@ -115,9 +111,7 @@ public class EventProcessingServiceImpl implements EventProcessingService {
   public EventFullDto getEvent(final Long initiatorId, final Long eventId) {
     log.debug("Getting event with ID={}, posted by user with ID={}.", eventId, initiatorId);
     final Event event = eventService.getEvent(initiatorId, eventId);
-    event.setInitiator(getUser(initiatorId));
-    setViews(List.of(event));
-    setConfirmedRequests(List.of(event));
+    enrich(List.of(event));
 
     return EventMapper.toFullDto(event);
   }
@@ -133,15 +127,25 @@ public class EventProcessingServiceImpl implements EventProcessingService {
 
     final Event event = eventService.getEvent(eventId);
 
-    event.setInitiator(getUser(event.getInitiatorId()));
-    setViews(List.of(event));
-    setConfirmedRequests(List.of(event));
+    enrich(List.of(event));
 
     return EventMapper.toFullDto(event);
   }
 
   /**
-   * Retrieves detailed information about a published event by its ID.
+   * Retrieves the state, initiator and participation settings of an event by its ID.
+   *
+   * @param eventId
+   */
+  @Override
+  public EventSummaryDto getEventSummary(final Long eventId) {
+    log.debug("Getting summary of event with ID={}.", eventId);
+    return EventMapper.toSummaryDto(eventService.getEventSummary(eventId));
+  }
+
+  /**
+   * Retrieves detailed information about a published event by its ID. Its views are read past the
+   * cache, since every such read is itself a view the caller expects to see counted next time.
    *
    * @param eventId
    */
@@ -151,9 +155,7 @@ public class EventProcessingServiceImpl implements EventProcessingService {
 
     final Event event = eventService.getEvent(eventId, State.PUBLISHED);
 
-    event.setInitiator(getUser(event.getInitiatorId()));
-    setViews(List.of(event));
-    setConfirmedRequests(List.of(event));
+    enrich(List.of(event), viewsCache::loadViews);
 
     return EventMapper.toFullDto(event);
   }
@@ -164,15 +166,13 @@ public class EventProcessingServiceImpl implements EventProcessingService {
    * @param param
    */
   @Override
-  public List<EventFullDto> getEvents(final GetEventAdminRequest param) {
+  public EventPage<EventFullDto> getEvents(final GetEventAdminRequest param) {
     log.debug("Getting all events with param: {}.Performed by Admin.", param);
-    final List<Event> events = eventService.getEvents(param);
-    setInitiators(events);
-    setViews(events);
-    setConfirmedRequests(events);
-    return events.stream()
+    final EventPage<Event> events = eventService.getEvents(param);
+    enrich(events.events());
+    return events.map(page -> page.stream()
         .map(EventMapper::toFullDto)
-        .collect(Collectors.toList());
+        .collect(Collectors.toList()));
   }
 
   /**
@@ -187,12 +187,34 @@ public class EventProcessingServiceImpl implements EventProcessingService {
                                        final Integer size) {
     log.debug("Getting all events of user: {}.", initiatorId);
     validateUserExist(initiatorId);
-    final UserShortDto initiator = getUser(initiatorId);
-    final List<Event> events = eventService.getEvents(initiatorId, from, size);
-    setInitiators(events);
-    setConfirmedRequests(events);
-    setViews(events);
-    return EventMapper.toShortDto(events);
+    final List<EventShortView> events = eventService.getEvents(initiatorId, from, size);
+    return toShortDto(events);
+  }
+
+  /**
+   * Retrieves one page of events of the compilation.
+   *
+   * @param compilationId
+   * @param from
+   * @param size
+   */
+  @Override
+  public List<EventShortDto> getCompilationEvents(final Long compilationId, final Integer from,
+                                                  final Integer size) {
+    log.debug("Getting events of compilation: {}.", compilationId);
+    return toShortDto(eventService.getCompilationEvents(compilationId, from, size));
+  }
+
+  /**
+   * Counts upcoming published events inside the box per map tile of the zoom level.
+   *
+   * @param box
+   * @param zoom
+   */
+  @Override
+  public List<EventClusterDto> getClusters(final GeoBox box, final Integer zoom) {
+    log.debug("Getting event clusters in {} at zoom {}.", box, zoom);
+    return EventMapper.toClusterDto(eventService.getClusters(box, zoom));
   }
 
   /**
@@ -202,15 +224,11 @@ public class EventProcessingServiceImpl implements EventProcessingService {
    * @param request
    */
   @Override
-  public List<EventShortDto> getEvents(GetEventPublicParam param, HttpServletRequest request) {
+  public EventPage<EventShortDto> getEvents(GetEventPublicParam param,
+                                            HttpServletRequest request) {
     log.debug("Retrieving published events satisfied parameters: {}.", param);
-    final List<Event> events = eventService.getEvents(param, request);
-    setInitiators(events);
-    setViews(events);
-    setConfirmedRequests(events);
-    return events.stream()
-        .map(EventMapper::toShortDto)
-        .toList();
+    final EventPage<EventShortView> events = eventService.getEvents(param, request);
+    return events.map(this::toShortDto);
   }
 
   /**
@@ -246,29 +264,19 @@ public class EventProcessingServiceImpl implements EventProcessingService {
 
     validateUserExist(userId);
     final Event event = eventService.getEvent(userId, eventId);
-    setConfirmedRequests(List.of(event));
-    final StatusRequest newStatus = updateStatusDto.getStatus();
-    final Boolean isModerated = event.getRequestModeration();
-    final Integer participantLimit = event.getParticipantLimit();
-    final Integer confirmed = event.getConfirmedRequests();
-
-    if (!isModerated || participantLimit == 0) {
+    StatusRequest newStatus = updateStatusDto.getStatus();
+    if (!event.getRequestModeration() || event.getParticipantLimit() == 0) {
       log.debug("Event is not moderated or participant limit is 0. ");
-      return autoConfirmRequests(updateStatusDto.getRequestIds(), eventId);
+      newStatus = StatusRequest.CONFIRMED;
     }
 
-    final List<ParticipationRequestDto> requestsToUpdate = getPendingRequests(
-        updateStatusDto.getRequestIds(), eventId);
-
-    int availableSlots = participantLimit - confirmed;
-    if (availableSlots <= 0) {
-      log.warn(
-          "Participant limit for the event {} has been reached: limit={}, confirmed requests={}.",
-          eventId, event.getParticipantLimit(), event.getConfirmedRequests());
-      throw new ConflictException("Participant limit for this event has been reached.");
-    }
-
-    return processRequestsWithLimit(requestsToUpdate, newStatus, availableSlots);
+    final RequestStatusUpdateResultDto result = requestClient.updateRequestsStatus(eventId,
+        new RequestStatusUpdateDto(updateStatusDto.getRequestIds(), newStatus,
+            event.getParticipantLimit()));
+    log.debug("Successfully confirmed {} and rejected {} requests of the event ID {}.",
+        result.getConfirmedRequests().size(), result.getRejectedRequests().size(), eventId);
+    return EventMapper.toEventRequestStatusUpdateResult(result.getConfirmedRequests(),
+        result.getRejectedRequests());
   }
 
   /**
@@ -282,14 +290,83 @@ public class EventProcessingServiceImpl implements EventProcessingService {
     return eventService.eventExistsById(eventId);
   }
 
-  private void setInitiators(final Collection<Event> events) {
-    log.debug("Setting initiators for events: {}", events);
-    final List<Long> initiatorIds = events.stream()
-        .map(Event::getInitiatorId)
+  /**
+   * Sets initiators, views and confirmed requests to the events.
+   */
+  @Override
+  public void enrich(final List<Event> events) {
+    enrich(events, viewsCache::getViews);
+  }
+
+  private void enrich(final List<Event> events,
+                      final Function<Map<Long, LocalDateTime>, Map<Long, Long>> viewsLoader) {
+    log.debug("Enriching {} events.", events.size());
+    if (events.isEmpty()) {
+      return;
+    }
+    final EventDetails details = loadDetails(
+        events.stream().collect(Collectors.toMap(Event::getId, Event::getCreatedOn, (a, b) -> a)),
+        events.stream().map(Event::getInitiatorId).toList(), viewsLoader);
+
+    setInitiators(events, details.initiators());
+    setViews(events, details.views());
+    setConfirmedRequests(events, details.confirmedRequests());
+  }
+
+  /**
+   * Builds short DTOs of the events read as projections, with their initiators, views and
+   * confirmed requests.
+   */
+  private List<EventShortDto> toShortDto(final List<EventShortView> events) {
+    log.debug("Enriching {} event views.", events.size());
+    if (events.isEmpty()) {
+      return List.of();
+    }
+    final EventDetails details = loadDetails(
+        events.stream().collect(Collectors.toMap(EventShortView::id, EventShortView::createdOn,
+            (a, b) -> a)),
+        events.stream().map(EventShortView::initiatorId).toList(), viewsCache::getViews);
+
+    return events.stream()
+        .map(event -> EventMapper.toShortDto(event,
+            details.initiators().get(event.initiatorId()),
+            details.confirmedRequests().getOrDefault(event.id(), 0L).intValue(),
+            details.views().getOrDefault(event.id(), 0L)))
         .toList();
-    final Map<Long, UserShortDto> initiators = getUsersByIdIn(initiatorIds).stream()
-        .collect(Collectors.toMap(UserShortDto::getId, Function.identity()));
+  }
+
+  /**
+   * Requests initiators, views and confirmed requests of the events from user-service,
+   * stats-server and request-service concurrently; data of a call that fails or does not complete
+   * in time is left empty instead of failing the whole response.
+   */
+  private EventDetails loadDetails(final Map<Long, LocalDateTime> createdOnByEventId,
+                                   final Collection<Long> initiatorIds,
+                                   final Function<Map<Long, LocalDateTime>, Map<Long, Long>> viewsLoader) {
+    final List<Long> eventIds = List.copyOf(createdOnByEventId.keySet());
+    final long deadline = enrichmentExecutor.deadline();
+    final Future<Map<Long, UserShortDto>> initiators =
+        enrichmentExecutor.submit(() -> getInitiators(initiatorIds));
+    final Future<Map<Long, Long>> views =
+        enrichmentExecutor.submit(() -> viewsLoader.apply(createdOnByEventId));
+    final Future<Map<Long, Long>> confirmedRequests =
+        enrichmentExecutor.submit(() -> getConfirmedRequestsCount(eventIds));
+
+    return new EventDetails(
+        enrichmentExecutor.await(initiators, deadline, Map.of(), "initiators"),
+        enrichmentExecutor.await(views, deadline, Map.of(), "views"),
+        enrichmentExecutor.await(confirmedRequests, deadline, Map.of(), "confirmed requests"));
+  }
 
+  private Map<Long, UserShortDto> getInitiators(final Collection<Long> initiatorIds) {
+    return getUsersByIdIn(initiatorIds.stream().distinct().toList()).stream()
+        .filter(user -> user.getId() != null)
+        .collect(Collectors.toMap(UserShortDto::getId, Function.identity(), (a, b) -> a));
+  }
+
+  private void setInitiators(final Collection<Event> events,
+                             final Map<Long, UserShortDto> initiators) {
+    log.debug("Setting initiators for events: {}", events);
     events.forEach(event -> event.setInitiator(initiators.get(event.getInitiatorId())));
   }
 
@@ -316,28 +393,20 @@ public class EventProcessingServiceImpl implements EventProcessingService {
     log.debug("Success: user ID={} is not null and exists.", userId);
   }
 
-  private void setConfirmedRequests(final List<Event> events) {
-    log.debug("Setting Confirmed requests to the events list, size {}.", events.size());
-    if (events.isEmpty()) {
-      log.debug("Events list is empty.");
-      return;
-    }
-    final List<Long> eventIds = events.stream().map(Event::getId).toList();
-
-    final Map<Long, List<ParticipationRequestDto>> confirmedRequests = getConfirmedRequests(eventIds);
-
-    events.forEach(event ->
-        event.setConfirmedRequests(
-            confirmedRequests.getOrDefault(event.getId(), List.of()).size()));
-    log.debug("Confirmed requests has set successfully to the events with IDs {}.", eventIds);
+  private Map<Long, Long> getConfirmedRequestsCount(final List<Long> eventIds) {
+    log.debug("Sending request to count confirmed requests for the events with IDs {}.", eventIds);
+    final Map<Long, Long> confirmedRequests = requestClient.countConfirmedRequests(eventIds);
+    log.debug("Successfully retrieved confirmed requests count for {} events.",
+        confirmedRequests.size());
+    return confirmedRequests;
   }
 
-  private Map<Long, List<ParticipationRequestDto>> getConfirmedRequests(final List<Long> eventIds) {
-    log.debug("Sending request to get confirmed requests for the events with IDs {}.", eventIds);
-    final Map<Long, List<ParticipationRequestDto>> confirmedRequests =
-        requestClient.getConfirmedRequests(eventIds);
-    log.debug("Successfully retrieved {} confirmed requests.", confirmedRequests.size());
-    return confirmedRequests;
+  private void setConfirmedRequests(final List<Event> events,
+                                    final Map<Long, Long> confirmedRequests) {
+    log.debug("Setting Confirmed requests to the events list, size {}.", events.size());
+    events.forEach(event ->
+        event.setConfirmedRequests(confirmedRequests.getOrDefault(event.getId(), 0L).intValue()));
+    log.debug("Confirmed requests has set successfully to the events.");
   }
 
   private List<ParticipationRequestDto> getRequestsByEventId(final Long eventId) {
@@ -347,108 +416,21 @@ public class EventProcessingServiceImpl implements EventProcessingService {
     return requests;
   }
 
-  private EventRequestStatusUpdateResult autoConfirmRequests(final List<Long> requestIds,
-                                                             final Long eventId) {
-    log.debug("Automatically confirming All requests for event ID {}.", eventId);
-    final List<ParticipationRequestDto> requestsToUpdate = getPendingRequests(requestIds, eventId);
-    requestsToUpdate.forEach(request -> request.setStatus(StatusRequest.CONFIRMED.name()));
 
-    final List<ParticipationRequestDto> confirmedRequests = updateRequests(requestsToUpdate);
-    return EventMapper.toEventRequestStatusUpdateResult(confirmedRequests, Collections.emptyList());
-  }
 
-  private List<ParticipationRequestDto> updateRequests(
-      final List<ParticipationRequestDto> requestsToUpdate) {
-    log.debug("Sending request to update {} requests to status CONFIRMED.", requestsToUpdate.size());
-    final List<ParticipationRequestDto> updated = requestClient.updateRequests(requestsToUpdate);
-    log.debug("Successfully updated {} requests to status CONFIRMED.", updated.size());
-    return updated;
-  }
 
-  private List<ParticipationRequestDto> getPendingRequests(final List<Long> requestIds,
-                                                           final Long eventId) {
-    log.debug("Sending request to get participation requests with IDs:{} and PENDING status.",
-        requestIds);
-    final List<ParticipationRequestDto> requests = requestClient.getEventPendingRequests(requestIds,
-        eventId);
-    log.debug("Successfully retrieved {} requests with IDs : {}.", requests.size(), requestIds);
-
-    if (requestIds.size() > requests.size()) {
-      log.warn("StatusRequest should be PENDING for all requests to be updated.");
-      throw new ConflictException(
-          "StatusRequest should be PENDING for all requests to be updated.");
-    }
-    return requests;
-  }
 
-  private EventRequestStatusUpdateResult processRequestsWithLimit(
-      final List<ParticipationRequestDto> requestsToUpdate,
-      final StatusRequest newStatus, final Integer availableSlots) {
-
-    log.debug("Processing requests {} to update status with {}. Available slots ={}",
-        requestsToUpdate, newStatus, availableSlots);
-
-    final List<ParticipationRequestDto> confirmedRequests = new ArrayList<>();
-    final List<ParticipationRequestDto> rejectedRequests = new ArrayList<>();
-    int available = availableSlots;
-
-    if (newStatus.equals(StatusRequest.REJECTED)) {
-      requestsToUpdate.forEach(r -> r.setStatus(newStatus.name()));
-      rejectedRequests.addAll(updateRequests(requestsToUpdate));
-    } else {
-      for (ParticipationRequestDto request : requestsToUpdate) {
-        if (available > 0) {
-          request.setStatus(StatusRequest.CONFIRMED.name());
-          confirmedRequests.add(request);
-          available--;
-        } else {
-          request.setStatus(StatusRequest.REJECTED.name());
-          rejectedRequests.add(request);
-        }
-      }
-    }
-    updateRequests(confirmedRequests);
-    updateRequests(rejectedRequests);
-    return EventMapper.toEventRequestStatusUpdateResult(confirmedRequests, rejectedRequests);
-  }
-
-  private void setViews(final List<Event> events) {
+  private void setViews(final List<Event> events, final Map<Long, Long> views) {
     log.debug("Setting views to the events list.");
-
-    if (events == null || events.isEmpty()) {
-      log.debug("Events list is empty.");
-      return;
-    }
-
-    final LocalDateTime start = events.stream()
-        .min(Comparator.comparing(Event::getCreatedOn))
-        .map(Event::getCreatedOn)
-        .orElse(LocalDateTime.now());
-
-    final LocalDateTime end = LocalDateTime.now();
-
-    final List<String> uris = events.stream()
-        .map(e -> buildEventUri(e.getId()))
-        .toList();
-
-    log.debug("Calling StatsClient with parameters: start={}, end={}, uris={}, unique={}.",
-        start, end, uris, true);
-    final List<ViewStatsDto> stats = statsClient.getStats(start, end, uris, true).getBody();
-    log.debug("Successfully retrieved views {}.", stats);
-
-    final Map<String, Long> views = stats == null
-        ? Collections.emptyMap()
-        : stats.stream()
-            .collect(Collectors.toMap(ViewStatsDto::getUri, ViewStatsDto::getHits));
-
-    events.forEach(event ->
-        event.setViews(views.getOrDefault(buildEventUri(event.getId()), 0L)));
+    events.forEach(event -> event.setViews(views.getOrDefault(event.getId(), 0L)));
     log.debug("Views has set successfully.");
-
   }
 
-  private String buildEventUri(final Long eventId) {
-    return String.format("/events/%d", eventId);
-  }
+  private record EventDetails(
+      Map<Long, UserShortDto> initiators,
+      Map<Long, Long> views,
+      Map<Long, Long> confirmedRequests
+  ) {
 
+  }
 }
@@ -0,0 +1,65 @@
+package ru.practicum.event.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.api.RequestOperations;
+import ru.practicum.cache.LastKnownValues;
+import ru.practicum.event.repository.EventRepository;
+import ru.practicum.event.views.EventViewsCache;
+
+/**
+ * Periodically copies confirmed requests and views of upcoming published events into the event
+ * table, so public searches can filter by available places and sort by views in the database.
+ * <p>
+ * Only fresh counts are written: a batch whose confirmed requests come from the request client
+ * fallback is skipped, and views are read from stats-server without going through the shared
+ * views cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "event.ranking", name = "enabled", matchIfMissing = true)
+public class EventRankingJob {
+
+  private final EventRepository eventRepository;
+  private final RequestOperations requestClient;
+  private final LastKnownValues<Long, Long> lastKnownConfirmedRequests;
+  private final EventViewsCache viewsCache;
+  private final EventRankingProperties properties;
+
+  @Scheduled(fixedDelayString = "${event.ranking.interval:PT1M}")
+  public void refresh() {
+    final LocalDateTime now = LocalDateTime.now();
+    long afterId = 0;
+    int refreshed = 0;
+    try {
+      Map<Long, LocalDateTime> createdOn;
+      do {
+        createdOn = eventRepository.findUpcomingPublishedAfterId(now, afterId,
+            properties.getBatchSize());
+        if (createdOn.isEmpty()) {
+          break;
+        }
+        afterId = createdOn.keySet().stream().mapToLong(Long::longValue).max().orElseThrow();
+        final Map<Long, Long> confirmedRequests =
+            requestClient.countConfirmedRequests(createdOn.keySet().stream().toList());
+        if (lastKnownConfirmedRequests.isServed(confirmedRequests)) {
+          log.warn("Skipping ranking of {} events up to ID {}, request-service is unavailable.",
+              createdOn.size(), afterId);
+          continue;
+        }
+        final Map<Long, Long> views = viewsCache.loadViews(createdOn);
+        eventRepository.updateRanking(confirmedRequests, views);
+        refreshed += createdOn.size();
+      } while (createdOn.size() == properties.getBatchSize());
+      log.debug("Refreshed ranking of {} upcoming events.", refreshed);
+    } catch (RuntimeException e) {
+      log.warn("Failed to refresh ranking of events after ID {}: {}.", afterId, e.getMessage());
+    }
+  }
+}
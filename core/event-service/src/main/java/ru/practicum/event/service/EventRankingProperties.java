@@ -0,0 +1,25 @@
+package ru.practicum.event.service;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of copying confirmed requests and views of upcoming published events into the event
+ * table, where public searches filter by available places and sort by views.
+ */
+@ConfigurationProperties(prefix = "event.ranking")
+@Getter
+@Setter
+public class EventRankingProperties {
+
+  private boolean enabled = true;
+
+  private Duration interval = Duration.ofMinutes(1);
+
+  /**
+   * Number of events whose data is requested from request-service and stats-server at once.
+   */
+  private int batchSize = 500;
+}
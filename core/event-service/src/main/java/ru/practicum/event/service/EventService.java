@@ -4,11 +4,16 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Set;
 import ru.practicum.enums.State;
+import ru.practicum.event.dto.EventPage;
 import ru.practicum.event.dto.GetEventAdminRequest;
 import ru.practicum.event.dto.GetEventPublicParam;
 import ru.practicum.event.dto.UpdateEventAdminRequest;
 import ru.practicum.event.dto.UpdateEventUserRequest;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventCluster;
+import ru.practicum.event.model.EventShortView;
+import ru.practicum.event.model.EventSummary;
+import ru.practicum.event.model.GeoBox;
 
 public interface EventService {
 
@@ -37,6 +42,11 @@ public interface EventService {
    */
   Event getEvent(Long eventId);
 
+  /**
+   * Retrieves the state, initiator and participation settings of an event by its ID.
+   */
+  EventSummary getEventSummary(Long eventId);
+
   /**
    * Retrieves detailed information about an event with certain Status and ID.
    */
@@ -45,17 +55,27 @@ public interface EventService {
   /**
    * Retrieves all existed in DB events (performed by ADMIN).
    */
-  List<Event> getEvents(GetEventAdminRequest param);
+  EventPage<Event> getEvents(GetEventAdminRequest param);
 
   /**
    * Retrieving published events with filtering options.
    */
-  List<Event> getEvents(GetEventPublicParam param, HttpServletRequest request);
+  EventPage<EventShortView> getEvents(GetEventPublicParam param, HttpServletRequest request);
 
   /**
    * Retries all events created by current user.
    */
-  List<Event> getEvents(Long initiatorId, Integer from, Integer size);
+  List<EventShortView> getEvents(Long initiatorId, Integer from, Integer size);
+
+  /**
+   * Retrieves one page of events of the compilation.
+   */
+  List<EventShortView> getCompilationEvents(Long compilationId, Integer from, Integer size);
+
+  /**
+   * Counts upcoming published events inside the box per map tile of the zoom level.
+   */
+  List<EventCluster> getClusters(GeoBox box, Integer zoom);
 
   /**
    *  Retrieves a set of events based on the provided event IDs.
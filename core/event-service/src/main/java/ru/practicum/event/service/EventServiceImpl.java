@@ -1,5 +1,8 @@
 package ru.practicum.event.service;
 
+import static ru.practicum.config.ReferenceDataCacheConfiguration.COMPILATION;
+import static ru.practicum.config.ReferenceDataCacheConfiguration.COMPILATION_PAGES;
+
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
@@ -10,11 +13,13 @@ import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.category.mapper.CategoryMapper;
 import ru.practicum.category.model.Category;
 import ru.practicum.category.service.CategoryService;
+import ru.practicum.event.dto.EventPage;
 import ru.practicum.event.dto.GetEventAdminRequest;
 import ru.practicum.event.dto.GetEventPublicParam;
 import ru.practicum.event.dto.UpdateEventAdminRequest;
@@ -22,6 +27,11 @@ import ru.practicum.event.dto.UpdateEventUserRequest;
 import ru.practicum.enums.State;
 import ru.practicum.event.enums.StateAction;
 import ru.practicum.event.model.Event;
+import ru.practicum.event.model.EventCluster;
+import ru.practicum.event.model.EventShortView;
+import ru.practicum.event.model.EventSummary;
+import ru.practicum.event.model.GeoBox;
+import ru.practicum.event.model.GeoCircle;
 import ru.practicum.event.model.Location;
 import ru.practicum.event.repository.EventRepository;
 import ru.practicum.exception.BadRequestException;
@@ -34,6 +44,16 @@ import ru.practicum.exception.NotFoundException;
 @RequiredArgsConstructor
 public class EventServiceImpl implements EventService {
 
+  /**
+   * Deepest zoom level served by the map clustering; a tile is about 40 m wide there.
+   */
+  private static final int MAX_ZOOM = 22;
+
+  /**
+   * Most tiles one map request may cluster over: 64 by 64 tiles, several screens even at 4K.
+   */
+  private static final long MAX_CLUSTER_TILES = 4096;
+
   private final EventRepository eventRepository;
   private final CategoryService categoryService;
 
@@ -53,6 +73,7 @@ public class EventServiceImpl implements EventService {
    * Updates specified event with the provided data (Performed by ADMIN).
    */
   @Override
+  @CacheEvict(cacheNames = {COMPILATION, COMPILATION_PAGES}, allEntries = true)
   public Event updateEvent(final long eventId, final UpdateEventAdminRequest param) {
     log.debug("Updating event, ID: {}, with data: {}. Performed by Admin.", eventId, param);
     Event event = eventRepository.findById(eventId)
@@ -69,6 +90,7 @@ public class EventServiceImpl implements EventService {
    * Updates the specified event by the current user (who is the initiator of the event).
    */
   @Override
+  @CacheEvict(cacheNames = {COMPILATION, COMPILATION_PAGES}, allEntries = true)
   public Event updateEvent(final Long userId, final Long eventId, final UpdateEventUserRequest eventDto) {
     log.debug("Updating event ID:{}, by user - initiator, ID: {} with data: {}.",
         eventId, userId, eventDto);
@@ -112,23 +134,33 @@ public class EventServiceImpl implements EventService {
             "Event with id " + eventId + " not found."));
   }
 
+  @Transactional(readOnly = true)
+  @Override
+  public EventSummary getEventSummary(final Long eventId) {
+    log.debug("Fetching summary of event ID={}.", eventId);
+    return eventRepository.findSummaryById(eventId)
+        .orElseThrow(() -> new NotFoundException(
+            "Event with id " + eventId + " not found."));
+  }
+
   /**
    * Retrieves all existed in DB events that match the given conditions in the GetEventAdminRequest(performed by ADMIN).
    */
   @Transactional(readOnly = true)
   @Override
-  public List<Event> getEvents(GetEventAdminRequest param) {
+  public EventPage<Event> getEvents(GetEventAdminRequest param) {
     log.debug("Retrieving all events from DB with conditions: {} for Admin to use.", param);
-    List<Event> events = eventRepository.adminFindEvents(
+    EventPage<Event> events = eventRepository.adminFindEvents(
         param.getUsers(),
         param.getStates(),
         param.getCategories(),
         param.getRangeStart(),
         param.getRangeEnd(),
+        param.getCursor(),
         param.getFrom(),
         param.getSize()
     );
-    log.debug("Found {} events in DB.", events.size());
+    log.debug("Found {} events in DB.", events.events().size());
     return events;
   }
 
@@ -137,11 +169,11 @@ public class EventServiceImpl implements EventService {
    */
   @Transactional(readOnly = true)
   @Override
-  public List<Event> getEvents(final Long initiatorId, final Integer from,
-                                       final Integer size) {
+  public List<EventShortView> getEvents(final Long initiatorId, final Integer from,
+                                        final Integer size) {
     log.debug("Fetching events posted by user with ID={}.", initiatorId);
     final PageRequest page = PageRequest.of(from / size, size);
-    return eventRepository.findAllByInitiatorId(initiatorId, page).getContent();
+    return eventRepository.findShortViewsByInitiatorId(initiatorId, page);
   }
 
   /**
@@ -149,7 +181,8 @@ public class EventServiceImpl implements EventService {
    */
   @Transactional(readOnly = true)
   @Override
-  public List<Event> getEvents(final GetEventPublicParam param, final HttpServletRequest request) {
+  public EventPage<EventShortView> getEvents(final GetEventPublicParam param,
+                                             final HttpServletRequest request) {
     log.debug("Fetching published events with params {}", param);
     if (param.getRangeStart() != null && param.getRangeEnd() != null &&
         param.getRangeStart().isAfter(param.getRangeEnd())) {
@@ -162,11 +195,50 @@ public class EventServiceImpl implements EventService {
         param.getRangeStart(),
         param.getRangeEnd(),
         param.getOnlyAvailable(),
+        toCircle(param),
+        toBox(param.getSouth(), param.getWest(), param.getNorth(), param.getEast()),
         param.getSort(),
+        param.getCursor(),
         param.getFrom(),
         param.getSize());
   }
 
+  /**
+   * Retrieves one page of events of the compilation.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public List<EventShortView> getCompilationEvents(final Long compilationId, final Integer from,
+                                                   final Integer size) {
+    log.debug("Fetching events of compilation with ID={}.", compilationId);
+    final PageRequest page = PageRequest.of(from / size, size);
+    return eventRepository.findShortViewsByCompilationId(compilationId, page);
+  }
+
+  /**
+   * Counts upcoming published events inside the box per map tile of the zoom level. A box spanning
+   * more tiles than a map request may return is clustered at the deepest coarser zoom that fits,
+   * which the clusters carry.
+   */
+  @Transactional(readOnly = true)
+  @Override
+  public List<EventCluster> getClusters(final GeoBox box, final Integer zoom) {
+    log.debug("Clustering published events in {} at zoom {}.", box, zoom);
+    if (zoom < 0 || zoom > MAX_ZOOM) {
+      throw new BadRequestException("Zoom should be between 0 and " + MAX_ZOOM);
+    }
+    final GeoBox validated = toBox(box.south(), box.west(), box.north(), box.east());
+    int clusterZoom = zoom;
+    while (clusterZoom > 0 && validated.tileCount(clusterZoom) > MAX_CLUSTER_TILES) {
+      clusterZoom--;
+    }
+    if (clusterZoom != zoom) {
+      log.debug("Box {} spans too many tiles at zoom {}, clustering at zoom {}.", validated, zoom,
+          clusterZoom);
+    }
+    return eventRepository.findClusters(validated, clusterZoom, LocalDateTime.now());
+  }
+
   /**
    *  Retrieves a set of events based on the provided event IDs.
    */
@@ -309,4 +381,43 @@ public class EventServiceImpl implements EventService {
     return CategoryMapper.toCategory(categoryService.getCategoryById(categoryId));
   }
 
+
+  @Nullable
+  private GeoCircle toCircle(final GetEventPublicParam param) {
+    if (param.getLat() == null && param.getLon() == null && param.getRadius() == null) {
+      return null;
+    }
+    if (param.getLat() == null || param.getLon() == null || param.getRadius() == null) {
+      throw new BadRequestException("Parameters lat, lon and radius should be set together");
+    }
+    validateCoordinates(param.getLat(), param.getLon());
+    if (param.getRadius() <= 0) {
+      throw new BadRequestException("Radius should be a positive number of kilometers");
+    }
+    return new GeoCircle(param.getLat(), param.getLon(), param.getRadius());
+  }
+
+  @Nullable
+  private GeoBox toBox(final Double south, final Double west, final Double north,
+                       final Double east) {
+    if (south == null && west == null && north == null && east == null) {
+      return null;
+    }
+    if (south == null || west == null || north == null || east == null) {
+      throw new BadRequestException("Parameters south, west, north and east should be set together");
+    }
+    validateCoordinates(south, west);
+    validateCoordinates(north, east);
+    if (south > north) {
+      throw new BadRequestException("South bound should not be above north bound");
+    }
+    return new GeoBox(south, west, north, east);
+  }
+
+  private void validateCoordinates(final double lat, final double lon) {
+    if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+      throw new BadRequestException("Coordinates should be within [-90, 90] latitude and "
+          + "[-180, 180] longitude");
+    }
+  }
 }
@@ -0,0 +1,142 @@
+package ru.practicum.event.views;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.StatsClient;
+import ru.practicum.ViewStatsDto;
+
+/**
+ * Caches unique-view counts of events by event URI.
+ * <p>
+ * Misses of one call are loaded with a single stats-server request, and concurrent misses for the
+ * same event wait for the request already in flight instead of issuing their own.
+ */
+@Component
+@Slf4j
+public class EventViewsCache {
+
+  private static final String EVENT_URI_PREFIX = "/events/";
+
+  private final StatsClient statsClient;
+  private final boolean enabled;
+  private final AsyncLoadingCache<ViewsKey, Long> cache;
+
+  public EventViewsCache(final StatsClient statsClient, final ViewsCacheProperties properties) {
+    this.statsClient = statsClient;
+    this.enabled = properties.isEnabled();
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.getMaxSize())
+        .expireAfterWrite(properties.getTtl())
+        .buildAsync(new ViewsLoader());
+  }
+
+  public static String eventUri(final Long eventId) {
+    return EVENT_URI_PREFIX + eventId;
+  }
+
+  /**
+   * Returns unique views of every event counted from its creation time, by event ID.
+   */
+  public Map<Long, Long> getViews(final Map<Long, LocalDateTime> createdOnByEventId) {
+    final List<ViewsKey> keys = createdOnByEventId.entrySet().stream()
+        .map(entry -> new ViewsKey(entry.getKey(), entry.getValue()))
+        .toList();
+    final Map<ViewsKey, Long> views = enabled
+        ? cache.getAll(keys).join()
+        : loadViews(keys);
+    return views.entrySet().stream()
+        .collect(Collectors.toMap(entry -> entry.getKey().eventId(), Map.Entry::getValue));
+  }
+
+  /**
+   * Returns unique views of every event counted from its creation time, by event ID, read from
+   * stats-server without going through the cache. Meant for bulk reads of many events that would
+   * otherwise evict the counts of the events being viewed.
+   */
+  public Map<Long, Long> loadViews(final Map<Long, LocalDateTime> createdOnByEventId) {
+    final List<ViewsKey> keys = createdOnByEventId.entrySet().stream()
+        .map(entry -> new ViewsKey(entry.getKey(), entry.getValue()))
+        .toList();
+    return loadViews(keys).entrySet().stream()
+        .collect(Collectors.toMap(entry -> entry.getKey().eventId(), Map.Entry::getValue));
+  }
+
+  /**
+   * Drops cached counts of the given URIs; URIs other than {@code /events/{id}} are ignored.
+   */
+  public void invalidate(final Collection<String> uris) {
+    final Set<Long> eventIds = uris.stream()
+        .filter(uri -> uri.startsWith(EVENT_URI_PREFIX))
+        .map(uri -> uri.substring(EVENT_URI_PREFIX.length()))
+        .filter(id -> !id.isEmpty() && id.chars().allMatch(Character::isDigit))
+        .map(Long::valueOf)
+        .collect(Collectors.toSet());
+    if (eventIds.isEmpty()) {
+      return;
+    }
+    cache.synchronous().asMap().keySet().removeIf(key -> eventIds.contains(key.eventId()));
+    log.debug("Invalidated cached views of events {}.", eventIds);
+  }
+
+  public void invalidateAll() {
+    cache.synchronous().invalidateAll();
+  }
+
+  private Map<ViewsKey, Long> loadViews(final Collection<? extends ViewsKey> keys) {
+    if (keys.isEmpty()) {
+      return Map.of();
+    }
+    final LocalDateTime start = keys.stream()
+        .map(ViewsKey::createdOn)
+        .min(Comparator.naturalOrder())
+        .orElseThrow();
+    final LocalDateTime end = LocalDateTime.now();
+    final List<String> uris = keys.stream()
+        .map(key -> eventUri(key.eventId()))
+        .toList();
+
+    log.debug("Calling StatsClient with parameters: start={}, end={}, uris={}, unique={}.",
+        start, end, uris, true);
+    final List<ViewStatsDto> stats = statsClient.getStats(start, end, uris, true).getBody();
+    log.debug("Successfully retrieved views {}.", stats);
+
+    final Map<String, Long> hitsByUri = stats == null
+        ? Map.of()
+        : stats.stream().collect(Collectors.toMap(ViewStatsDto::getUri, ViewStatsDto::getHits));
+    return keys.stream()
+        .collect(Collectors.toMap(Function.identity(),
+            key -> hitsByUri.getOrDefault(eventUri(key.eventId()), 0L)));
+  }
+
+  /**
+   * Views are counted from the event creation time, which is part of the key so that every caller
+   * asking for the same event gets the same count.
+   */
+  private record ViewsKey(Long eventId, LocalDateTime createdOn) {
+
+  }
+
+  private class ViewsLoader implements CacheLoader<ViewsKey, Long> {
+
+    @Override
+    public Long load(final ViewsKey key) {
+      return loadViews(List.of(key)).get(key);
+    }
+
+    @Override
+    public Map<ViewsKey, Long> loadAll(final Set<? extends ViewsKey> keys) {
+      return loadViews(keys);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.event.views;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the in-process cache of event view counts retrieved from stats-server.
+ */
+@ConfigurationProperties(prefix = "event.views-cache")
+@Getter
+@Setter
+public class ViewsCacheProperties {
+
+  private boolean enabled = true;
+
+  private long maxSize = 10_000;
+
+  /**
+   * How long a view count is served from the cache before it is requested again.
+   */
+  private Duration ttl = Duration.ofSeconds(30);
+
+  private Feed feed = new Feed();
+
+  /**
+   * Polling of stats-server for URIs hit since the last poll; their cached counts are dropped.
+   */
+  @Getter
+  @Setter
+  public static class Feed {
+
+    private boolean enabled = false;
+
+    private Duration interval = Duration.ofSeconds(5);
+  }
+}
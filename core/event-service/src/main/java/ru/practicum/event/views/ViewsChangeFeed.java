@@ -0,0 +1,41 @@
+package ru.practicum.event.views;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.HitChangesDto;
+import ru.practicum.StatsClient;
+
+/**
+ * Polls stats-server for URIs hit since the previous poll and drops their cached view counts, so
+ * hot events are refreshed before their cache entries expire.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "event.views-cache.feed", name = "enabled")
+public class ViewsChangeFeed {
+
+  private final StatsClient statsClient;
+  private final EventViewsCache viewsCache;
+
+  private Long cursor;
+
+  @Scheduled(fixedDelayString = "${event.views-cache.feed.interval:PT5S}")
+  public void poll() {
+    try {
+      final HitChangesDto changes = statsClient.getChanges(cursor);
+      if (cursor != null && changes.getCursor() < cursor) {
+        log.info("Stats cursor moved back from {} to {}, dropping all cached views.", cursor,
+            changes.getCursor());
+        viewsCache.invalidateAll();
+      }
+      viewsCache.invalidate(changes.getUris());
+      cursor = changes.getCursor();
+    } catch (RuntimeException e) {
+      log.warn("Failed to poll stats changes: {}.", e.getMessage());
+    }
+  }
+}
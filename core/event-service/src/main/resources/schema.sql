@@ -1,3 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 CREATE TABLE IF NOT EXISTS category
 (
     id   BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
@@ -22,10 +24,17 @@ CREATE TABLE IF NOT EXISTS event
     published_on       TIMESTAMP WITHOUT TIME ZONE,
     request_moderation BOOLEAN                     NOT NULL DEFAULT TRUE,
     state              VARCHAR(20)                 NOT NULL CHECK (state IN ('PENDING', 'PUBLISHED', 'CANCELED')),
+    confirmed_requests BIGINT                      NOT NULL DEFAULT 0,
+    views              BIGINT                      NOT NULL DEFAULT 0,
     CONSTRAINT pk_event PRIMARY KEY (id),
     CONSTRAINT fk_category FOREIGN KEY (category_id) REFERENCES category (id) ON DELETE RESTRICT
 );
 
+-- Copies of confirmed requests and views used to filter and sort public searches, refreshed by
+-- event-service from request-service and stats-server.
+ALTER TABLE event ADD COLUMN IF NOT EXISTS confirmed_requests BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE event ADD COLUMN IF NOT EXISTS views BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS compilation
 (
     id     BIGINT GENERATED ALWAYS AS IDENTITY,
@@ -61,3 +70,10 @@ CREATE INDEX IF NOT EXISTS idx_event_initiator ON event (initiator_id);
 CREATE INDEX IF NOT EXISTS idx_event_id_initiator ON event (id, initiator_id);
 CREATE INDEX IF NOT EXISTS idx_event_state ON event (state);
 CREATE INDEX IF NOT EXISTS idx_event_date ON event (event_date);
+CREATE INDEX IF NOT EXISTS idx_event_published_views ON event (views DESC, id) WHERE state = 'PUBLISHED';
+-- GiST index over the location points serving the box containment (<@) of geo search and clustering.
+DROP INDEX IF EXISTS idx_event_published_location;
+CREATE INDEX IF NOT EXISTS idx_event_published_point ON event USING GIST (point(longitude, latitude)) WHERE state = 'PUBLISHED';
+-- Trigram indexes serving the case-insensitive substring search over annotation and description.
+CREATE INDEX IF NOT EXISTS idx_event_annotation_trgm ON event USING GIN (lower(annotation) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_event_description_trgm ON event USING GIN (lower(description) gin_trgm_ops);
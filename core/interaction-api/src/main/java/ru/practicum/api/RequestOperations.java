@@ -1,5 +1,6 @@
 package ru.practicum.api;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.util.List;
@@ -9,6 +10,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.dto.RequestStatusUpdateDto;
+import ru.practicum.dto.RequestStatusUpdateResultDto;
 
 public interface RequestOperations {
 
@@ -18,11 +21,11 @@ public interface RequestOperations {
   @PostMapping("/events/confirmed")
   Map<Long, List<ParticipationRequestDto>> getConfirmedRequests(@RequestBody final List<Long> eventIds);
 
-  @PostMapping
-  List<ParticipationRequestDto> updateRequests(@RequestBody final List<ParticipationRequestDto> requestsToUpdate);
+  @PostMapping("/events/confirmed/count")
+  Map<Long, Long> countConfirmedRequests(@RequestBody final List<Long> eventIds);
 
-  @PostMapping("/events/{eventId}/pending")
-  List<ParticipationRequestDto> getEventPendingRequests(@RequestBody final List<Long> requestIds,
-                                                        @PathVariable("eventId") @NotNull @Positive Long eventId);
+  @PostMapping("/events/{eventId}/status")
+  RequestStatusUpdateResultDto updateRequestsStatus(@PathVariable("eventId") @NotNull @Positive Long eventId,
+                                                    @RequestBody @Valid final RequestStatusUpdateDto update);
 
 }
@@ -0,0 +1,46 @@
+package ru.practicum.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calls in flight and exponentially weighted moving average latency of one service instance.
+ */
+class InstanceLoad {
+
+  private final long firstSeenNanos = System.nanoTime();
+  private final AtomicInteger outstanding = new AtomicInteger();
+
+  private double latencyNanos = -1;
+  private long updatedNanos = firstSeenNanos;
+
+  void onStart() {
+    outstanding.incrementAndGet();
+  }
+
+  synchronized void onComplete(final long latency, final long decayNanos) {
+    outstanding.updateAndGet(count -> Math.max(0, count - 1));
+    final long now = System.nanoTime();
+    if (latencyNanos < 0) {
+      latencyNanos = latency;
+    } else {
+      final double weight = Math.exp(-(double) (now - updatedNanos) / decayNanos);
+      latencyNanos = latencyNanos * weight + latency * (1 - weight);
+    }
+    updatedNanos = now;
+  }
+
+  int getOutstanding() {
+    return outstanding.get();
+  }
+
+  /**
+   * Returns the average latency, or a negative value before the first call completes.
+   */
+  synchronized double getLatencyNanos() {
+    return latencyNanos;
+  }
+
+  long getAgeNanos() {
+    return System.nanoTime() - firstSeenNanos;
+  }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.balancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Records calls in flight and latency of every load-balanced call in {@link InstanceLoadRegistry}.
+ * Failed calls and server errors count at least the failure penalty.
+ */
+public class InstanceLoadLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+  private final InstanceLoadRegistry registry;
+  private final long decayNanos;
+  private final long failurePenaltyNanos;
+
+  public InstanceLoadLifecycle(final InstanceLoadRegistry registry,
+                               final LatencyAwareLoadBalancerProperties properties) {
+    this.registry = registry;
+    this.decayNanos = Math.max(1, properties.getDecay().toNanos());
+    this.failurePenaltyNanos = properties.getFailurePenalty().toNanos();
+  }
+
+  @Override
+  public boolean supports(final Class requestContextClass, final Class responseClass,
+                          final Class serverTypeClass) {
+    return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+  }
+
+  @Override
+  public void onStart(final Request<Object> request) {
+  }
+
+  @Override
+  public void onStartRequest(final Request<Object> request,
+                             final Response<ServiceInstance> lbResponse) {
+    if (request.getContext() instanceof TimedRequestContext context) {
+      context.setRequestStartTime(System.nanoTime());
+    }
+    if (lbResponse.hasServer()) {
+      registry.get(lbResponse.getServer()).onStart();
+    }
+  }
+
+  @Override
+  public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+    final Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+    if (lbResponse == null || !lbResponse.hasServer()
+        || completionContext.status() == CompletionContext.Status.DISCARD) {
+      return;
+    }
+    long latency = 0;
+    if (completionContext.getLoadBalancerRequest().getContext()
+        instanceof TimedRequestContext context && context.getRequestStartTime() > 0) {
+      latency = System.nanoTime() - context.getRequestStartTime();
+    }
+    if (isFailure(completionContext)) {
+      latency = Math.max(latency, failurePenaltyNanos);
+    }
+    registry.get(lbResponse.getServer()).onComplete(latency, decayNanos);
+  }
+
+  private boolean isFailure(final CompletionContext<Object, ServiceInstance, Object> context) {
+    return context.status() == CompletionContext.Status.FAILED
+        || context.getClientResponse() instanceof ResponseData response
+        && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+  }
+}
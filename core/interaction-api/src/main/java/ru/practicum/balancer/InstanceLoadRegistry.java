@@ -0,0 +1,29 @@
+package ru.practicum.balancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Load of the service instances this application calls, shared by the load balancers of all
+ * services. Every choice reads the load of all current instances of the service, so instances
+ * gone from the registry, e.g. restarted on a new port, stop being read and are evicted.
+ */
+public class InstanceLoadRegistry {
+
+  private final Cache<String, InstanceLoad> loads;
+
+  public InstanceLoadRegistry(final LatencyAwareLoadBalancerProperties properties) {
+    this.loads = Caffeine.newBuilder()
+        .expireAfterAccess(properties.getIdleTimeout())
+        .build();
+  }
+
+  InstanceLoad get(final ServiceInstance instance) {
+    return loads.get(key(instance), key -> new InstanceLoad());
+  }
+
+  private String key(final ServiceInstance instance) {
+    return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+  }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Chooses the less loaded of two random instances of the service, by moving average latency or by
+ * calls in flight. Comparing two random instances instead of taking the best one keeps every
+ * caller from rushing to the same instance.
+ * <p>
+ * Instances seen for less than the warm-up time get a proportionally smaller share of calls.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+  private static final double MIN_WARM_UP_WEIGHT = 0.1;
+
+  private final ObjectProvider<ServiceInstanceListSupplier> instanceListSupplierProvider;
+  private final String serviceId;
+  private final InstanceLoadRegistry registry;
+  private final LatencyAwareLoadBalancerProperties properties;
+
+  public LatencyAwareLoadBalancer(
+      final ObjectProvider<ServiceInstanceListSupplier> instanceListSupplierProvider,
+      final String serviceId, final InstanceLoadRegistry registry,
+      final LatencyAwareLoadBalancerProperties properties) {
+    this.instanceListSupplierProvider = instanceListSupplierProvider;
+    this.serviceId = serviceId;
+    this.registry = registry;
+    this.properties = properties;
+  }
+
+  @Override
+  public Mono<Response<ServiceInstance>> choose(final Request request) {
+    final ServiceInstanceListSupplier supplier = instanceListSupplierProvider
+        .getIfAvailable(NoopServiceInstanceListSupplier::new);
+    return supplier.get(request).next().map(instances -> {
+      final Response<ServiceInstance> response = choose(instances);
+      if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+        callback.selectedServiceInstance(response.getServer());
+      }
+      return response;
+    });
+  }
+
+  private Response<ServiceInstance> choose(final List<ServiceInstance> instances) {
+    if (instances.isEmpty()) {
+      log.warn("No servers available for service: {}.", serviceId);
+      return new EmptyResponse();
+    }
+    if (instances.size() == 1) {
+      return new DefaultResponse(instances.getFirst());
+    }
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final int first = random.nextInt(instances.size());
+    final int second = (first + 1 + random.nextInt(instances.size() - 1)) % instances.size();
+    final double defaultLatency = averageLatency(instances);
+    final ServiceInstance a = instances.get(first);
+    final ServiceInstance b = instances.get(second);
+    return new DefaultResponse(
+        score(a, defaultLatency) <= score(b, defaultLatency) ? a : b);
+  }
+
+  /**
+   * Returns the expected cost of one more call to the instance; lower is better.
+   */
+  private double score(final ServiceInstance instance, final double defaultLatency) {
+    final InstanceLoad load = registry.get(instance);
+    double score = load.getOutstanding() + 1;
+    if (properties.getStrategy() == LatencyAwareLoadBalancerProperties.Strategy.EWMA) {
+      final double latency = load.getLatencyNanos();
+      score *= latency < 0 ? defaultLatency : latency;
+    }
+    final long warmUpNanos = properties.getWarmUp().toNanos();
+    if (warmUpNanos > 0 && load.getAgeNanos() < warmUpNanos) {
+      score /= Math.max(MIN_WARM_UP_WEIGHT, (double) load.getAgeNanos() / warmUpNanos);
+    }
+    return score;
+  }
+
+  /**
+   * Latency assumed for instances without completed calls: the average of the others.
+   */
+  private double averageLatency(final List<ServiceInstance> instances) {
+    return instances.stream()
+        .mapToDouble(instance -> registry.get(instance).getLatencyNanos())
+        .filter(latency -> latency >= 0)
+        .average()
+        .orElse(1);
+  }
+}
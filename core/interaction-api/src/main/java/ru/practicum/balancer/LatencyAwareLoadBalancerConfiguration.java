@@ -0,0 +1,26 @@
+package ru.practicum.balancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer client configuration choosing instances with {@link LatencyAwareLoadBalancer}.
+ * Registered through {@code @LoadBalancerClients(defaultConfiguration = ...)} and therefore not
+ * annotated with {@code @Configuration}, to stay out of component scanning.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+  @Bean
+  public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(
+      final Environment environment, final LoadBalancerClientFactory clientFactory,
+      final InstanceLoadRegistry registry, final LatencyAwareLoadBalancerProperties properties) {
+    final String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+    return new LatencyAwareLoadBalancer(
+        clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId,
+        registry, properties);
+  }
+}
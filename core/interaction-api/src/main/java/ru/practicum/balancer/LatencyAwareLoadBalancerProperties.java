@@ -0,0 +1,48 @@
+package ru.practicum.balancer;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings of choosing service instances by their observed load.
+ */
+@Getter
+@Setter
+public class LatencyAwareLoadBalancerProperties {
+
+  private Strategy strategy = Strategy.EWMA;
+
+  /**
+   * Time after which a latency sample weighs about a third of its initial weight in the average.
+   */
+  private Duration decay = Duration.ofSeconds(10);
+
+  /**
+   * Time over which a newly seen instance grows to its full share of calls.
+   */
+  private Duration warmUp = Duration.ofSeconds(30);
+
+  /**
+   * Latency recorded for a failed call or a server error when it took less, so an instance
+   * failing fast does not look like the fastest one.
+   */
+  private Duration failurePenalty = Duration.ofSeconds(1);
+
+  /**
+   * Time after which the load of an instance no longer seen among the instances of its service is
+   * forgotten.
+   */
+  private Duration idleTimeout = Duration.ofMinutes(10);
+
+  public enum Strategy {
+    /**
+     * Lowest moving average latency, weighted by calls in flight.
+     */
+    EWMA,
+    /**
+     * Fewest calls in flight.
+     */
+    LEAST_OUTSTANDING
+  }
+}
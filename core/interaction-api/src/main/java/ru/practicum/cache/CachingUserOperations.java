@@ -0,0 +1,106 @@
+package ru.practicum.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.api.UserOperations;
+import ru.practicum.dto.UserShortDto;
+
+/**
+ * {@link UserOperations} answering from an in-process cache of users. Concurrent misses are loaded
+ * together by {@link UserBatchLoader}; calls the cache cannot answer go to the delegate.
+ */
+@Slf4j
+public class CachingUserOperations implements UserOperations, AutoCloseable {
+
+  private final UserOperations delegate;
+  private final UserBatchLoader batchLoader;
+  private final AsyncLoadingCache<Long, Optional<UserShortDto>> users;
+
+  public CachingUserOperations(final UserOperations delegate,
+                               final UserCacheProperties properties) {
+    this.delegate = delegate;
+    this.batchLoader = new UserBatchLoader(delegate, properties.getBatchWindow(),
+        properties.getMaxBatchSize());
+    final long ttlNanos = properties.getTtl().toNanos();
+    final long missingTtlNanos = properties.getMissingTtl().toNanos();
+    this.users = Caffeine.newBuilder()
+        .maximumSize(properties.getMaxSize())
+        .expireAfter(new Expiry<Long, Optional<UserShortDto>>() {
+          @Override
+          public long expireAfterCreate(Long userId, Optional<UserShortDto> user,
+                                        long currentTime) {
+            return user.isPresent() ? ttlNanos : missingTtlNanos;
+          }
+
+          @Override
+          public long expireAfterUpdate(Long userId, Optional<UserShortDto> user,
+                                        long currentTime, long currentDuration) {
+            return expireAfterCreate(userId, user, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(Long userId, Optional<UserShortDto> user,
+                                      long currentTime, long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .buildAsync((userId, executor) -> batchLoader.load(userId));
+  }
+
+  @Override
+  public boolean existsById(final Long userId) {
+    try {
+      return users.get(userId).join().isPresent();
+    } catch (CompletionException e) {
+      log.debug("Checking user ID {} in user-service, the cache failed to load it.", userId);
+      return delegate.existsById(userId);
+    }
+  }
+
+  @Override
+  public UserShortDto getUser(final Long userId) {
+    try {
+      final Optional<UserShortDto> user = users.get(userId).join();
+      if (user.isPresent()) {
+        return user.get();
+      }
+    } catch (CompletionException e) {
+      log.debug("Getting user ID {} from user-service, the cache failed to load it.", userId);
+    }
+    return delegate.getUser(userId);
+  }
+
+  /**
+   * Returns the known users among the IDs, as user-service does. A call without IDs asks for all
+   * users and is not cached.
+   */
+  @Override
+  public List<UserShortDto> getUsers(final List<Long> userIds) {
+    if (userIds == null || userIds.isEmpty()) {
+      return delegate.getUsers(userIds);
+    }
+    try {
+      final Map<Long, Optional<UserShortDto>> found = users.getAll(userIds).join();
+      return userIds.stream()
+          .distinct()
+          .map(found::get)
+          .flatMap(Optional::stream)
+          .toList();
+    } catch (CompletionException e) {
+      log.debug("Getting {} users from user-service, the cache failed to load them.",
+          userIds.size());
+      return delegate.getUsers(userIds);
+    }
+  }
+
+  @Override
+  public void close() {
+    batchLoader.close();
+  }
+}
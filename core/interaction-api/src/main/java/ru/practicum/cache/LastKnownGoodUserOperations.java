@@ -0,0 +1,67 @@
+package ru.practicum.cache;
+
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.api.UserOperations;
+import ru.practicum.dto.UserShortDto;
+
+/**
+ * {@link UserOperations} recording users received from user-service into {@link LastKnownValues}
+ * for the client fallback. After a fresh response it reloads, in the background, the users the
+ * fallback has served stale.
+ */
+@Slf4j
+public class LastKnownGoodUserOperations implements UserOperations {
+
+  private final UserOperations delegate;
+  private final LastKnownValues<Long, UserShortDto> lastKnownUsers;
+
+  public LastKnownGoodUserOperations(final UserOperations delegate,
+                                     final LastKnownValues<Long, UserShortDto> lastKnownUsers) {
+    this.delegate = delegate;
+    this.lastKnownUsers = lastKnownUsers;
+  }
+
+  @Override
+  public boolean existsById(final Long userId) {
+    return delegate.existsById(userId);
+  }
+
+  @Override
+  public UserShortDto getUser(final Long userId) {
+    final UserShortDto user = delegate.getUser(userId);
+    if (!lastKnownUsers.isServed(user) && user.getId() != null) {
+      lastKnownUsers.record(user.getId(), user);
+      refreshServed();
+    }
+    return user;
+  }
+
+  @Override
+  public List<UserShortDto> getUsers(final List<Long> userIds) {
+    final List<UserShortDto> users = delegate.getUsers(userIds);
+    if (!lastKnownUsers.isServed(users)) {
+      users.stream()
+          .filter(user -> user.getId() != null)
+          .forEach(user -> lastKnownUsers.record(user.getId(), user));
+      refreshServed();
+    }
+    return users;
+  }
+
+  private void refreshServed() {
+    final Set<Long> userIds = lastKnownUsers.takeServedKeys();
+    if (userIds.isEmpty()) {
+      return;
+    }
+    log.debug("Refreshing {} users served stale while user-service was failing.", userIds.size());
+    Thread.ofVirtual().name("user-refresh").start(() -> {
+      try {
+        getUsers(List.copyOf(userIds));
+      } catch (RuntimeException e) {
+        log.warn("Failed to refresh users served stale: {}.", e.getMessage());
+      }
+    });
+  }
+}
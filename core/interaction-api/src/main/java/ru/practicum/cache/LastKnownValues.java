@@ -0,0 +1,77 @@
+package ru.practicum.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last values received from another service, served by Feign fallbacks while the service fails.
+ * <p>
+ * Keys served this way are remembered, so the next successful call can refresh them. Responses
+ * built by a fallback are registered by identity, letting the client tell them from fresh ones and
+ * not record stale values again as new.
+ */
+public class LastKnownValues<K, V> {
+
+  private final Cache<K, Entry<V>> values;
+  private final Cache<Object, Boolean> servedResponses = Caffeine.newBuilder()
+      .weakKeys()
+      .build();
+  private final Set<K> servedKeys = ConcurrentHashMap.newKeySet();
+
+  public LastKnownValues(final long maxSize, final Duration maxAge) {
+    this.values = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(maxAge)
+        .build();
+  }
+
+  public void record(final K key, final V value) {
+    values.put(key, new Entry<>(value, Instant.now()));
+    servedKeys.remove(key);
+  }
+
+  /**
+   * Returns the last value received for the key and remembers that it was served stale, also for
+   * the response to the current request.
+   */
+  public Optional<StaleValue<V>> find(final K key) {
+    final Entry<V> entry = values.getIfPresent(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    servedKeys.add(key);
+    final Duration age = Duration.between(entry.receivedAt(), Instant.now());
+    StaleResponses.report(age);
+    return Optional.of(new StaleValue<>(entry.value(), age));
+  }
+
+  /**
+   * Registers a response built by a fallback.
+   */
+  public <T> T markServed(final T response) {
+    servedResponses.put(response, Boolean.TRUE);
+    return response;
+  }
+
+  public boolean isServed(final Object response) {
+    return response != null && servedResponses.getIfPresent(response) != null;
+  }
+
+  /**
+   * Returns the keys served stale since the last call and forgets them.
+   */
+  public Set<K> takeServedKeys() {
+    final Set<K> keys = Set.copyOf(servedKeys);
+    servedKeys.removeAll(keys);
+    return keys;
+  }
+
+  private record Entry<V>(V value, Instant receivedAt) {
+
+  }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sets {@value StaleResponses#HEADER} on responses built with values a fallback served stale, so
+ * that callers and caches in front of the service can tell degraded responses from fresh ones.
+ */
+@RestControllerAdvice(basePackages = "ru.practicum")
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(final MethodParameter returnType,
+                          final Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(final Object body, final MethodParameter returnType,
+                                final MediaType selectedContentType,
+                                final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                final ServerHttpRequest request,
+                                final ServerHttpResponse response) {
+    final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    final Duration age = attributes == null ? null : StaleResponses.age(attributes);
+    if (age != null) {
+      response.getHeaders().set(StaleResponses.HEADER, String.valueOf(age.toSeconds()));
+    }
+    return body;
+  }
+}
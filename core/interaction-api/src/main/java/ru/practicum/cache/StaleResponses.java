@@ -0,0 +1,50 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Tracks whether the response to the current request includes values served stale by a fallback,
+ * and how old the oldest of them is, for {@link StaleResponseAdvice} to tell the caller.
+ */
+public final class StaleResponses {
+
+  /**
+   * Response header carrying the age, in seconds, of the oldest stale value in the response.
+   */
+  public static final String HEADER = "X-Stale-Age";
+
+  private static final String ATTRIBUTE = StaleResponses.class.getName() + ".age";
+
+  private StaleResponses() {
+  }
+
+  /**
+   * Records a value of the given age served stale while handling the current request. Does nothing
+   * outside a request, e.g. on a background refresh.
+   */
+  public static void report(final Duration age) {
+    final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return;
+    }
+    synchronized (StaleResponses.class) {
+      try {
+        final Duration oldest = age(attributes);
+        if (oldest == null || oldest.compareTo(age) < 0) {
+          attributes.setAttribute(ATTRIBUTE, age, RequestAttributes.SCOPE_REQUEST);
+        }
+      } catch (IllegalStateException e) {
+        // the request has completed while a call made for it was still running
+      }
+    }
+  }
+
+  /**
+   * Returns the age of the oldest stale value served for the request, or null if all were fresh.
+   */
+  public static Duration age(final RequestAttributes attributes) {
+    return (Duration) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+  }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+
+/**
+ * Value served from {@link LastKnownValues} in place of a failed call, with the time passed since
+ * it was received.
+ */
+public record StaleValue<V>(V value, Duration age) {
+
+}
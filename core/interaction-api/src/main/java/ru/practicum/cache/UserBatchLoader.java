@@ -0,0 +1,110 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.api.UserOperations;
+import ru.practicum.dto.UserShortDto;
+
+/**
+ * Collects user IDs requested within a short window and loads them with one
+ * {@link UserOperations#getUsers(List)} call.
+ */
+@Slf4j
+class UserBatchLoader implements AutoCloseable {
+
+  private final UserOperations delegate;
+  private final long windowNanos;
+  private final int maxBatchSize;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService loader = Executors.newVirtualThreadPerTaskExecutor();
+
+  private Map<Long, CompletableFuture<Optional<UserShortDto>>> pending = new HashMap<>();
+
+  UserBatchLoader(final UserOperations delegate, final Duration window, final int maxBatchSize) {
+    this.delegate = delegate;
+    this.windowNanos = window.toNanos();
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("user-batch-loader").daemon().factory());
+  }
+
+  /**
+   * Returns a future completed by the batch the ID joins: with the user, empty if user-service
+   * does not know the ID, or exceptionally if the batch could not be loaded.
+   */
+  CompletableFuture<Optional<UserShortDto>> load(final Long userId) {
+    final CompletableFuture<Optional<UserShortDto>> future;
+    Map<Long, CompletableFuture<Optional<UserShortDto>>> full = null;
+    synchronized (this) {
+      future = pending.computeIfAbsent(userId, id -> new CompletableFuture<>());
+      if (pending.size() >= maxBatchSize) {
+        full = takePending();
+      } else if (pending.size() == 1) {
+        scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+    if (full != null) {
+      dispatch(full);
+    }
+    return future;
+  }
+
+  private void flush() {
+    final Map<Long, CompletableFuture<Optional<UserShortDto>>> batch;
+    synchronized (this) {
+      batch = takePending();
+    }
+    if (!batch.isEmpty()) {
+      dispatch(batch);
+    }
+  }
+
+  private Map<Long, CompletableFuture<Optional<UserShortDto>>> takePending() {
+    final Map<Long, CompletableFuture<Optional<UserShortDto>>> batch = pending;
+    pending = new HashMap<>();
+    return batch;
+  }
+
+  private void dispatch(final Map<Long, CompletableFuture<Optional<UserShortDto>>> batch) {
+    loader.execute(() -> {
+      try {
+        final Map<Long, UserShortDto> users = fetch(List.copyOf(batch.keySet()));
+        batch.forEach((id, future) -> future.complete(Optional.ofNullable(users.get(id))));
+      } catch (RuntimeException e) {
+        log.warn("Failed to load batch of {} users: {}.", batch.size(), e.getMessage());
+        batch.values().forEach(future -> future.completeExceptionally(e));
+      }
+    });
+  }
+
+  /**
+   * Loads the users. A response with users lacking IDs comes from the client fallback, not from
+   * user-service, so it fails the batch instead of marking the users as missing.
+   */
+  private Map<Long, UserShortDto> fetch(final List<Long> userIds) {
+    log.debug("Loading batch of {} users from user-service.", userIds.size());
+    final List<UserShortDto> users = delegate.getUsers(userIds);
+    if (users.stream().anyMatch(user -> user.getId() == null)) {
+      throw new IllegalStateException("user-service is unavailable");
+    }
+    return users.stream()
+        .collect(Collectors.toMap(UserShortDto::getId, Function.identity(), (a, b) -> a));
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    loader.shutdownNow();
+  }
+}
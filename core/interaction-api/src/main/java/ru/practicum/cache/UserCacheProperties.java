@@ -0,0 +1,45 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings of the in-process cache of users loaded from user-service.
+ */
+@Getter
+@Setter
+public class UserCacheProperties {
+
+  /**
+   * Whether user lookups go through the cache; when disabled every call reaches user-service.
+   */
+  private boolean enabled = true;
+
+  private long maxSize = 10_000;
+
+  /**
+   * How long a found user is kept.
+   */
+  private Duration ttl = Duration.ofMinutes(10);
+
+  /**
+   * How long a user ID unknown to user-service is kept as missing.
+   */
+  private Duration missingTtl = Duration.ofSeconds(30);
+
+  /**
+   * How long the last user received is served by the client fallback while user-service fails.
+   */
+  private Duration staleMaxAge = Duration.ofHours(1);
+
+  /**
+   * How long the first missed ID waits for other misses to be loaded with it in one call.
+   */
+  private Duration batchWindow = Duration.ofMillis(2);
+
+  /**
+   * Number of missed IDs that loads the batch without waiting for the window to end.
+   */
+  private int maxBatchSize = 100;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Is used in the INTERNAL API - as RESPONSE
+ * <p>
+ * GET /internal/events/{eventId}/summary
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class EventSummaryDto {
+
+  private Long id;
+  private String state;
+  private Long initiatorId;
+  private Integer participantLimit;
+  private Boolean requestModeration;
+}
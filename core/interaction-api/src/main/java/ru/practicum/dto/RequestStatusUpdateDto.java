@@ -0,0 +1,37 @@
+package ru.practicum.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import ru.practicum.enums.StatusRequest;
+
+/**
+ * Is used in the INTERNAL API - as REQUEST body
+ * <p>
+ * POST /internal/requests/events/{eventId}/status
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class RequestStatusUpdateDto {
+
+  @NotEmpty(message = "RequestIds cannot be empty.")
+  private List<Long> requestIds;
+
+  @NotNull(message = "Status cannot be null.")
+  private StatusRequest status;
+
+  @NotNull(message = "Participant limit cannot be null.")
+  @PositiveOrZero(message = "Participant limit must be zero or positive.")
+  private Integer participantLimit;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * Is used in the INTERNAL API - as RESPONSE
+ * <p>
+ * POST /internal/requests/events/{eventId}/status
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class RequestStatusUpdateResultDto {
+
+  private List<ParticipationRequestDto> confirmedRequests = new ArrayList<>();
+  private List<ParticipationRequestDto> rejectedRequests = new ArrayList<>();
+}
@@ -0,0 +1,61 @@
+package ru.practicum.limit;
+
+/**
+ * Limit of concurrent calls adjusted by additive increase and multiplicative decrease: it grows by
+ * one per limit's worth of fast calls made while it is in use and shrinks by the backoff ratio on
+ * every slow or failed call.
+ */
+class AimdLimiter {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+
+  private double limit;
+  private int inFlight;
+
+  AimdLimiter(final int initialLimit, final int minLimit, final int maxLimit,
+              final double backoffRatio, final long latencyThresholdNanos) {
+    this.minLimit = Math.max(1, minLimit);
+    this.maxLimit = Math.max(this.minLimit, maxLimit);
+    this.backoffRatio = backoffRatio;
+    this.latencyThresholdNanos = latencyThresholdNanos;
+    this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+  }
+
+  synchronized boolean tryAcquire() {
+    if (inFlight >= (int) limit) {
+      return false;
+    }
+    inFlight++;
+    return true;
+  }
+
+  synchronized void onSuccess(final long latencyNanos) {
+    final boolean saturated = inFlight * 2 >= limit;
+    inFlight--;
+    if (latencyNanos > latencyThresholdNanos) {
+      backOff();
+    } else if (saturated) {
+      limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+  }
+
+  synchronized void onDropped() {
+    inFlight--;
+    backOff();
+  }
+
+  synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  private void backOff() {
+    limit = Math.max(minLimit, limit * backoffRatio);
+  }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.limit;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gives every Feign client its own {@link AimdLimiter}, so a slow service uses up only its own
+ * share of the calling threads. The limit, calls in flight and rejected calls are published as
+ * {@code feign.client.concurrency.*} metrics tagged with the client name.
+ */
+@Slf4j
+public class ConcurrencyLimitCapability implements Capability {
+
+  private final ConcurrencyLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, LimitedClient> limiters = new ConcurrentHashMap<>();
+
+  public ConcurrencyLimitCapability(final ConcurrencyLimitProperties properties,
+                                    final MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Client enrich(final Client client) {
+    if (!properties.isEnabled()) {
+      return client;
+    }
+    return (request, options) -> execute(client, request, options);
+  }
+
+  private Response execute(final Client client, final Request request,
+                           final Request.Options options) throws IOException {
+    final LimitedClient limited = limiters.computeIfAbsent(clientName(request), this::register);
+    final AimdLimiter limiter = limited.limiter();
+    if (!limiter.tryAcquire()) {
+      limited.rejected().increment();
+      log.warn("Rejected call to {}: {} calls in flight.", limited.name(), limiter.getInFlight());
+      throw new ConcurrencyLimitExceededException(limited.name(), limiter.getLimit());
+    }
+    final long start = System.nanoTime();
+    try {
+      final Response response = client.execute(request, options);
+      if (response.status() == 429 || response.status() == 503) {
+        limiter.onDropped();
+      } else {
+        limiter.onSuccess(System.nanoTime() - start);
+      }
+      return response;
+    } catch (IOException | RuntimeException e) {
+      limiter.onDropped();
+      throw e;
+    }
+  }
+
+  private String clientName(final Request request) {
+    if (request.requestTemplate() != null && request.requestTemplate().feignTarget() != null) {
+      return request.requestTemplate().feignTarget().name();
+    }
+    return "unknown";
+  }
+
+  private LimitedClient register(final String name) {
+    final AimdLimiter limiter = new AimdLimiter(properties.getInitialLimit(),
+        properties.getMinLimit(), properties.getMaxLimit(name), properties.getBackoffRatio(),
+        properties.getLatencyThreshold().toNanos());
+    Gauge.builder("feign.client.concurrency.limit", limiter, AimdLimiter::getLimit)
+        .tag("client", name)
+        .description("Calls allowed in flight")
+        .register(meterRegistry);
+    Gauge.builder("feign.client.concurrency.in-flight", limiter, AimdLimiter::getInFlight)
+        .tag("client", name)
+        .description("Calls in flight")
+        .register(meterRegistry);
+    final Counter rejected = Counter.builder("feign.client.concurrency.rejected")
+        .tag("client", name)
+        .description("Calls rejected by the concurrency limit")
+        .register(meterRegistry);
+    log.debug("Registered concurrency limit of {}.", name);
+    return new LimitedClient(name, limiter, rejected);
+  }
+
+  private record LimitedClient(String name, AimdLimiter limiter, Counter rejected) {
+
+  }
+}
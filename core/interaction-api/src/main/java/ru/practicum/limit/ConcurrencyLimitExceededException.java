@@ -0,0 +1,14 @@
+package ru.practicum.limit;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of calling a service whose concurrency limit is used up, letting the client
+ * fallback answer at once.
+ */
+public class ConcurrencyLimitExceededException extends IOException {
+
+  public ConcurrencyLimitExceededException(final String client, final int limit) {
+    super("Concurrency limit " + limit + " of " + client + " is reached.");
+  }
+}
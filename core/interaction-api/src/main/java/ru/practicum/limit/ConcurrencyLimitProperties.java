@@ -0,0 +1,45 @@
+package ru.practicum.limit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings of the adaptive limits of concurrent calls to each downstream service.
+ */
+@Getter
+@Setter
+public class ConcurrencyLimitProperties {
+
+  private boolean enabled = true;
+
+  private int initialLimit = 20;
+
+  private int minLimit = 2;
+
+  /**
+   * Calls in flight a limit never grows beyond, acting as the bulkhead of the service.
+   */
+  private int maxLimit = 100;
+
+  /**
+   * Max limits of single services, by the Feign client name.
+   */
+  private Map<String, Integer> maxLimits = new HashMap<>();
+
+  /**
+   * Share of the limit kept after a failed, rejected or slow call.
+   */
+  private double backoffRatio = 0.9;
+
+  /**
+   * Latency above which a call is treated as a sign of an overloaded service.
+   */
+  private Duration latencyThreshold = Duration.ofSeconds(1);
+
+  public int getMaxLimit(final String client) {
+    return maxLimits.getOrDefault(client, maxLimit);
+  }
+}
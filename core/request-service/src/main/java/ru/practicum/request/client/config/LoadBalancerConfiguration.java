@@ -0,0 +1,38 @@
+package ru.practicum.request.client.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.balancer.InstanceLoadLifecycle;
+import ru.practicum.balancer.InstanceLoadRegistry;
+import ru.practicum.balancer.LatencyAwareLoadBalancerConfiguration;
+import ru.practicum.balancer.LatencyAwareLoadBalancerProperties;
+
+/**
+ * Chooses instances of every called service by their observed load instead of round robin. The
+ * load registry and lifecycle live in the application context, so the load balancer contexts of
+ * all services share them.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfiguration {
+
+  @Bean
+  @ConfigurationProperties(prefix = "latency-balancer")
+  public LatencyAwareLoadBalancerProperties latencyAwareLoadBalancerProperties() {
+    return new LatencyAwareLoadBalancerProperties();
+  }
+
+  @Bean
+  public InstanceLoadRegistry instanceLoadRegistry(
+      final LatencyAwareLoadBalancerProperties properties) {
+    return new InstanceLoadRegistry(properties);
+  }
+
+  @Bean
+  public InstanceLoadLifecycle instanceLoadLifecycle(
+      final InstanceLoadRegistry registry, final LatencyAwareLoadBalancerProperties properties) {
+    return new InstanceLoadLifecycle(registry, properties);
+  }
+}
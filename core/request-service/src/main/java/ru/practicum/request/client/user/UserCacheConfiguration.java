@@ -0,0 +1,48 @@
+package ru.practicum.request.client.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import ru.practicum.api.UserOperations;
+import ru.practicum.cache.CachingUserOperations;
+import ru.practicum.cache.LastKnownGoodUserOperations;
+import ru.practicum.cache.LastKnownValues;
+import ru.practicum.cache.StaleResponseAdvice;
+import ru.practicum.cache.UserCacheProperties;
+import ru.practicum.dto.UserShortDto;
+
+/**
+ * Puts the user cache in front of {@link UserClient} for services depending on
+ * {@link UserOperations}, and keeps the last users received for its fallback. The Feign client
+ * is registered with {@code primary = false}, so this decorator is the only primary bean.
+ * Responses built with users served stale are marked by {@link StaleResponseAdvice}.
+ */
+@Configuration
+@Import(StaleResponseAdvice.class)
+public class UserCacheConfiguration {
+
+  @Bean
+  @ConfigurationProperties(prefix = "user-cache")
+  public UserCacheProperties userCacheProperties() {
+    return new UserCacheProperties();
+  }
+
+  @Bean
+  public LastKnownValues<Long, UserShortDto> lastKnownUsers(final UserCacheProperties properties) {
+    return new LastKnownValues<>(properties.getMaxSize(), properties.getStaleMaxAge());
+  }
+
+  @Bean
+  @Primary
+  public UserOperations cachingUserOperations(final UserClient userClient,
+                                              final UserCacheProperties properties,
+                                              final LastKnownValues<Long, UserShortDto> lastKnownUsers) {
+    final UserOperations users = new LastKnownGoodUserOperations(userClient, lastKnownUsers);
+    if (!properties.isEnabled()) {
+      return users;
+    }
+    return new CachingUserOperations(users, properties);
+  }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.request.controller;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.util.List;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.api.RequestOperations;
 import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.dto.RequestStatusUpdateDto;
+import ru.practicum.dto.RequestStatusUpdateResultDto;
 import ru.practicum.request.service.RequestProcessingService;
 
 @RestController
@@ -52,30 +55,30 @@ public class InternalRequestController implements RequestOperations {
   }
 
   @Override
-  @PostMapping
-  public List<ParticipationRequestDto> updateRequests(
-      @RequestBody final List<ParticipationRequestDto> requestsToUpdate) {
-    log.info("Received request to update {} participation requests.",
-        requestsToUpdate.size());
-    if (requestsToUpdate.isEmpty()) {
-      log.info("No requests provided. Returning empty list.");
-      return List.of();
+  @PostMapping("/events/confirmed/count")
+  public Map<Long, Long> countConfirmedRequests(@RequestBody final List<Long> eventIds) {
+    log.info("Received request to count confirmed requests for events with IDs {}.", eventIds);
+    if (eventIds.isEmpty()) {
+      log.info("No events IDs provided. Returning empty map.");
+      return Map.of();
     }
-    List<ParticipationRequestDto> requests = requestService.updateEventRequests(requestsToUpdate);
-    log.info("Returning {} updated requests.", requests.size());
-    return requests;
+    final Map<Long, Long> counts = requestService.countConfirmedRequests(eventIds);
+    log.info("Returning confirmed requests count for {} events.", counts.size());
+    return counts;
   }
 
   @Override
-  @PostMapping("/events/{eventId}/pending")
-  public List<ParticipationRequestDto> getEventPendingRequests(
-      @RequestBody final List<Long> requestIds,
-      @PathVariable("eventId") @NotNull @Positive Long eventId) {
-    log.info("Received request to get pending requests for event with ID {}.", eventId);
-    List<ParticipationRequestDto> requests = requestService.getEventPendingRequests(eventId,
-        requestIds);
-    log.info("Returning {} pending requests.", requests.size());
-    return requests;
+  @PostMapping("/events/{eventId}/status")
+  public RequestStatusUpdateResultDto updateRequestsStatus(
+      @PathVariable("eventId") @NotNull @Positive Long eventId,
+      @RequestBody @Valid final RequestStatusUpdateDto update) {
+    log.info("Received request to update status of requests for event with ID {}: {}.", eventId,
+        update);
+    final RequestStatusUpdateResultDto result = requestService.updateRequestsStatus(eventId,
+        update);
+    log.info("Returning {} confirmed and {} rejected requests.",
+        result.getConfirmedRequests().size(), result.getRejectedRequests().size());
+    return result;
   }
 
 }
@@ -0,0 +1,11 @@
+package ru.practicum.request.model;
+
+import java.util.List;
+
+/**
+ * Requests of one event moved out of PENDING by a single status update.
+ */
+public record RequestStatusUpdate(List<ParticipationRequest> confirmed,
+                                  List<ParticipationRequest> rejected) {
+
+}
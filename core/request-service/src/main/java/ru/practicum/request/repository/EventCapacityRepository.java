@@ -0,0 +1,34 @@
+package ru.practicum.request.repository;
+
+/**
+ * Per-event counter of confirmed participation requests, used to admit participants without
+ * counting the request table.
+ */
+public interface EventCapacityRepository {
+
+  /**
+   * Takes {@code permits} places of the event if that keeps it within {@code participantLimit};
+   * zero limit means unlimited.
+   *
+   * @return {@code true} if the places were taken
+   */
+  boolean acquire(long eventId, int participantLimit, int permits);
+
+  /**
+   * Takes as many of {@code permits} places of the event as {@code participantLimit} leaves free;
+   * zero limit means unlimited.
+   *
+   * @return number of places taken
+   */
+  int acquireAvailable(long eventId, int participantLimit, int permits);
+
+  /**
+   * Gives back {@code permits} places of the event.
+   */
+  void release(long eventId, int permits);
+
+  /**
+   * Returns the number of confirmed requests of the event.
+   */
+  int getConfirmed(long eventId);
+}
@@ -0,0 +1,127 @@
+package ru.practicum.request.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class EventCapacityRepositoryImpl implements EventCapacityRepository {
+
+  private static final String ACQUIRE = """
+      UPDATE event_capacity
+      SET confirmed = confirmed + ?
+      WHERE event_id = ?
+        AND (? = 0 OR confirmed + ? <= ?)
+      """;
+
+  private static final String RELEASE = """
+      UPDATE event_capacity
+      SET confirmed = GREATEST(confirmed - ?, 0)
+      WHERE event_id = ?
+      """;
+
+  private static final String SELECT_CONFIRMED = """
+      SELECT confirmed
+      FROM event_capacity
+      WHERE event_id = ?
+      """;
+
+  private static final String SELECT_CONFIRMED_FOR_UPDATE = """
+      SELECT confirmed
+      FROM event_capacity
+      WHERE event_id = ?
+      FOR UPDATE
+      """;
+
+  private static final String ADD_CONFIRMED = """
+      UPDATE event_capacity
+      SET confirmed = confirmed + ?
+      WHERE event_id = ?
+      """;
+
+  private static final String INSERT_COUNTER = """
+      INSERT INTO event_capacity (event_id, confirmed)
+      VALUES (?, 0)
+      ON CONFLICT (event_id) DO NOTHING
+      """;
+
+  private static final String COUNT_CONFIRMED = """
+      UPDATE event_capacity
+      SET confirmed = (SELECT COUNT(*) FROM request WHERE event_id = ? AND status = 'CONFIRMED')
+      WHERE event_id = ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * A single conditional update both checks and takes the places, so concurrent admissions to one
+   * event queue on its counter row instead of counting requests.
+   */
+  @Override
+  public boolean acquire(final long eventId, final int participantLimit, final int permits) {
+    if (tryAcquire(eventId, participantLimit, permits)) {
+      return true;
+    }
+    createCounter(eventId);
+    final boolean acquired = tryAcquire(eventId, participantLimit, permits);
+    log.debug("{} {} places of event {} with limit {}.", acquired ? "Acquired" : "Refused",
+        permits, eventId, participantLimit);
+    return acquired;
+  }
+
+  /**
+   * Locks the counter row for the rest of the transaction, so the places left are not taken by
+   * concurrent admissions in between.
+   */
+  @Override
+  public int acquireAvailable(final long eventId, final int participantLimit, final int permits) {
+    createCounter(eventId);
+    final Integer confirmed = jdbcTemplate.queryForObject(SELECT_CONFIRMED_FOR_UPDATE,
+        Integer.class, eventId);
+    final int granted = participantLimit == 0
+        ? permits
+        : Math.clamp(participantLimit - (confirmed == null ? 0 : confirmed), 0, permits);
+    if (granted > 0) {
+      jdbcTemplate.update(ADD_CONFIRMED, granted, eventId);
+    }
+    log.debug("Acquired {} of {} places of event {} with limit {}.", granted, permits, eventId,
+        participantLimit);
+    return granted;
+  }
+
+  /**
+   * Counters missing for an event are left as they are: they are created from the request table
+   * on the next admission.
+   */
+  @Override
+  public void release(final long eventId, final int permits) {
+    jdbcTemplate.update(RELEASE, permits, eventId);
+    log.debug("Released {} places of event {}.", permits, eventId);
+  }
+
+  @Override
+  public int getConfirmed(final long eventId) {
+    createCounter(eventId);
+    final Integer confirmed = jdbcTemplate.queryForObject(SELECT_CONFIRMED, Integer.class, eventId);
+    return confirmed == null ? 0 : confirmed;
+  }
+
+  private boolean tryAcquire(final long eventId, final int participantLimit, final int permits) {
+    return jdbcTemplate.update(ACQUIRE, permits, eventId, participantLimit, permits,
+        participantLimit) > 0;
+  }
+
+  /**
+   * Creates the counter of the event from its confirmed requests. A concurrent creator waits on the
+   * inserted row and then sees the counted value.
+   */
+  private void createCounter(final long eventId) {
+    if (jdbcTemplate.update(INSERT_COUNTER, eventId) > 0) {
+      jdbcTemplate.update(COUNT_CONFIRMED, eventId, eventId);
+      log.debug("Created capacity counter of event {}.", eventId);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.request.repository;
+
+/**
+ * Number of participation requests of one event.
+ */
+public interface EventRequestsCount {
+
+  Long getEventId();
+
+  Long getCount();
+}
@@ -2,23 +2,48 @@ package ru.practicum.request.repository;
 
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.request.model.ParticipationRequest;
 import ru.practicum.enums.StatusRequest;
 
-public interface RequestRepository extends JpaRepository<ParticipationRequest, Long> {
+public interface RequestRepository extends JpaRepository<ParticipationRequest, Long>,
+    EventCapacityRepository {
 
   List<ParticipationRequest> findAllByRequesterId(Long userId);
 
   List<ParticipationRequest> findAllByEventId(Long eventId);
 
-  int countAllByEventIdAndStatus(Long eventId, StatusRequest status);
-
   ParticipationRequest findByRequesterIdAndEventId(Long userId, Long eventId);
 
   List<ParticipationRequest> findAllByEventIdInAndStatus(List<Long> eventIds,
                                                          StatusRequest statusRequest);
 
-  List<ParticipationRequest> findAllByIdIn(List<Long> requestsIds);
+  @Query("""
+      SELECT r.eventId AS eventId, COUNT(r.id) AS count
+      FROM ParticipationRequest r
+      WHERE r.eventId IN :eventIds
+        AND r.status = :status
+      GROUP BY r.eventId
+      """)
+  List<EventRequestsCount> countByEventIdInAndStatus(@Param("eventIds") List<Long> eventIds,
+                                                     @Param("status") StatusRequest status);
+
+  /**
+   * Changes the status of the requests still in the given current status and returns their
+   * number; requests moved by a concurrent transaction meanwhile are left as they are.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      UPDATE ParticipationRequest r
+      SET r.status = :status
+      WHERE r.id IN :ids
+        AND r.status = :currentStatus
+      """)
+  int updateStatusByIdInAndStatus(@Param("ids") List<Long> requestIds,
+                                  @Param("currentStatus") StatusRequest currentStatus,
+                                  @Param("status") StatusRequest status);
 
   List<ParticipationRequest> findAllByIdInAndEventIdAndStatus(List<Long> requestIds,
                                                               Long eventId,
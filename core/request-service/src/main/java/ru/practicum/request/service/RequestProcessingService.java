@@ -3,6 +3,8 @@ package ru.practicum.request.service;
 import java.util.List;
 import java.util.Map;
 import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.dto.RequestStatusUpdateDto;
+import ru.practicum.dto.RequestStatusUpdateResultDto;
 
 public interface RequestProcessingService {
 
@@ -14,9 +16,9 @@ public interface RequestProcessingService {
 
   Map<Long, List<ParticipationRequestDto>> getConfirmedRequests(List<Long> eventIds);
 
-  List<ParticipationRequestDto> getByEventId(Long eventId);
+  Map<Long, Long> countConfirmedRequests(List<Long> eventIds);
 
-  List<ParticipationRequestDto> updateEventRequests(List<ParticipationRequestDto> requestsToUpdate);
+  List<ParticipationRequestDto> getByEventId(Long eventId);
 
-  List<ParticipationRequestDto> getEventPendingRequests(Long eventId, List<Long> requestIds);
+  RequestStatusUpdateResultDto updateRequestsStatus(Long eventId, RequestStatusUpdateDto update);
 }
@@ -6,14 +6,16 @@ import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import ru.practicum.dto.EventFullDto;
-import ru.practicum.enums.StatusRequest;
+import ru.practicum.api.UserOperations;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.request.client.event.EventClient;
-import ru.practicum.request.client.user.UserClient;
 import ru.practicum.dto.ParticipationRequestDto;
+import ru.practicum.dto.RequestStatusUpdateDto;
+import ru.practicum.dto.RequestStatusUpdateResultDto;
 import ru.practicum.request.mapper.RequestMapper;
 import ru.practicum.request.model.ParticipationRequest;
+import ru.practicum.request.model.RequestStatusUpdate;
 
 @Slf4j
 @Service
@@ -21,13 +23,13 @@ import ru.practicum.request.model.ParticipationRequest;
 public class RequestProcessingServiceImpl implements RequestProcessingService {
 
   private final RequestService requestService;
-  private final UserClient userClient;
+  private final UserOperations userClient;
   private final EventClient eventClient;
 
   @Override
   public ParticipationRequestDto addRequest(final Long userId, final Long eventId) {
     validateUserExistsById(userId);
-    final EventFullDto event = getEvent(eventId);
+    final EventSummaryDto event = getEvent(eventId);
     ParticipationRequest requestSaved = requestService.addRequest(userId, event);
     return RequestMapper.mapToDto(requestSaved);
   }
@@ -55,31 +57,26 @@ public class RequestProcessingServiceImpl implements RequestProcessingService {
   }
 
   @Override
-  public List<ParticipationRequestDto> getByEventId(final Long eventId) {
-    final List<ParticipationRequest> requests = requestService.getByEventId(eventId);
-    return requests.stream()
-        .map(RequestMapper::mapToDto)
-        .toList();
+  public Map<Long, Long> countConfirmedRequests(final List<Long> eventIds) {
+    return requestService.countConfirmedRequestsByEventsIds(eventIds);
   }
 
   @Override
-  public List<ParticipationRequestDto> updateEventRequests(final List<ParticipationRequestDto> requestsToUpdate) {
-    List<ParticipationRequest> toUpdate = requestsToUpdate.stream()
-        .map(RequestMapper::mapToEntity)
-        .toList();
-    List<ParticipationRequest> updatedRequests = requestService.updateEventRequests(toUpdate);
-    return updatedRequests.stream()
+  public List<ParticipationRequestDto> getByEventId(final Long eventId) {
+    final List<ParticipationRequest> requests = requestService.getByEventId(eventId);
+    return requests.stream()
         .map(RequestMapper::mapToDto)
         .toList();
   }
 
   @Override
-  public List<ParticipationRequestDto> getEventPendingRequests(final Long eventId, final List<Long> requestIds) {
-    final List<ParticipationRequest> requests =
-        requestService.getEventRequestsByStatus(eventId, requestIds, StatusRequest.PENDING);
-    return requests.stream()
-        .map(RequestMapper::mapToDto)
-        .toList();
+  public RequestStatusUpdateResultDto updateRequestsStatus(final Long eventId,
+                                                           final RequestStatusUpdateDto update) {
+    final RequestStatusUpdate result = requestService.updateStatus(eventId,
+        update.getRequestIds(), update.getStatus(), update.getParticipantLimit());
+    return new RequestStatusUpdateResultDto(
+        RequestMapper.mapToDto(result.confirmed()),
+        RequestMapper.mapToDto(result.rejected()));
   }
 
   private void validateUserExistsById(final Long userId) {
@@ -91,9 +88,9 @@ public class RequestProcessingServiceImpl implements RequestProcessingService {
     log.debug("Success: user ID {} is not null and exists.", userId);
   }
 
-  private EventFullDto getEvent(final Long eventId) {
+  private EventSummaryDto getEvent(final Long eventId) {
     log.debug("Retrieving event with ID {} from event-service.", eventId);
-    final EventFullDto event = eventClient.getEvent(eventId);
+    final EventSummaryDto event = eventClient.getEventSummary(eventId);
     log.debug("Event with ID {} found in event-service.", eventId);
     return event;
   }
@@ -1,13 +1,15 @@
 package ru.practicum.request.service;
 
 import java.util.List;
-import ru.practicum.dto.EventFullDto;
+import java.util.Map;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.enums.StatusRequest;
 import ru.practicum.request.model.ParticipationRequest;
+import ru.practicum.request.model.RequestStatusUpdate;
 
 public interface RequestService {
 
-  ParticipationRequest addRequest(Long userId, EventFullDto event);
+  ParticipationRequest addRequest(Long userId, EventSummaryDto event);
 
   List<ParticipationRequest> getAll(Long userId);
 
@@ -15,9 +17,14 @@ public interface RequestService {
 
   List<ParticipationRequest> getConfirmedRequestsByEventsIds(List<Long> eventIds);
 
-  List<ParticipationRequest> getByEventId(Long eventId);
+  Map<Long, Long> countConfirmedRequestsByEventsIds(List<Long> eventIds);
 
-  List<ParticipationRequest> updateEventRequests(List<ParticipationRequest> requests);
+  List<ParticipationRequest> getByEventId(Long eventId);
 
-  List<ParticipationRequest> getEventRequestsByStatus(Long eventId, List<Long> requestIds, StatusRequest statusRequest);
+  /**
+   * Moves the pending requests of the event to the status. Confirmation takes the places the
+   * participant limit leaves free and rejects the rest of the requests.
+   */
+  RequestStatusUpdate updateStatus(Long eventId, List<Long> requestIds, StatusRequest status,
+                                   Integer participantLimit);
 }
@@ -1,19 +1,22 @@
 package ru.practicum.request.service;
 
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.dto.EventFullDto;
+import ru.practicum.dto.EventSummaryDto;
 import ru.practicum.enums.State;
 import ru.practicum.enums.StatusRequest;
+import ru.practicum.exception.BadRequestException;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.request.model.ParticipationRequest;
+import ru.practicum.request.model.RequestStatusUpdate;
 import ru.practicum.request.repository.RequestRepository;
 
 @Service
@@ -25,9 +28,9 @@ public class RequestServiceImpl implements RequestService {
 
   @Override
   @Transactional
-  public ParticipationRequest addRequest(final Long userId, final EventFullDto event) {
+  public ParticipationRequest addRequest(final Long userId, final EventSummaryDto event) {
 
-    if (userId.equals(event.getInitiator().getId())) {
+    if (userId.equals(event.getInitiatorId())) {
       throw new ConflictException("Нельзя добавить запрос на свое собственное событие");
     }
 
@@ -41,17 +44,15 @@ public class RequestServiceImpl implements RequestService {
       throw new ConflictException("Вы уже отправили запрос на это событие");
     }
 
-    int confirmedRequests = requestRepository.countAllByEventIdAndStatus(event.getId(),
-        StatusRequest.CONFIRMED);
-
     ParticipationRequest participationRequest = new ParticipationRequest(userId, event.getId());
 
-    if (event.getParticipantLimit() != 0 && event.getParticipantLimit() == confirmedRequests) {
-      throw new ConflictException("Лимит запроса закончен");
-    }
-
     if (!event.getRequestModeration() || event.getParticipantLimit() == 0) {
+      if (!requestRepository.acquire(event.getId(), event.getParticipantLimit(), 1)) {
+        throw new ConflictException("Лимит запроса закончен");
+      }
       participationRequest.setStatus(StatusRequest.CONFIRMED);
+    } else if (requestRepository.getConfirmed(event.getId()) >= event.getParticipantLimit()) {
+      throw new ConflictException("Лимит запроса закончен");
     }
 
     return requestRepository.save(participationRequest);
@@ -75,6 +76,9 @@ public class RequestServiceImpl implements RequestService {
       throw new NotFoundException("Отменить может только владелец заявки");
     }
 
+    if (StatusRequest.CONFIRMED.equals(participationRequest.getStatus())) {
+      requestRepository.release(participationRequest.getEventId(), 1);
+    }
     participationRequest.setStatus(StatusRequest.CANCELED);
 
     return requestRepository.save(participationRequest);
@@ -87,53 +91,76 @@ public class RequestServiceImpl implements RequestService {
   }
 
   @Override
-  public List<ParticipationRequest> getByEventId(final Long eventId) {
-    log.debug("Fetching requests for event ID {}.", eventId);
-    return requestRepository.findAllByEventId(eventId);
+  public Map<Long, Long> countConfirmedRequestsByEventsIds(final List<Long> eventIds) {
+    log.debug("Counting confirmed requests for events IDs {}.", eventIds);
+    final Map<Long, Long> counts = new HashMap<>();
+    eventIds.forEach(eventId -> counts.put(eventId, 0L));
+    requestRepository.countByEventIdInAndStatus(eventIds, StatusRequest.CONFIRMED)
+        .forEach(count -> counts.put(count.getEventId(), count.getCount()));
+    return counts;
   }
 
   @Override
-  public List<ParticipationRequest> updateEventRequests(final List<ParticipationRequest> data) {
-    log.debug("Updating {} requests statuses.", data.size());
-    List<Long> requiredIds = data.stream().map(ParticipationRequest::getId).toList();
-    List<ParticipationRequest> requests = requestRepository.findAllByIdIn(requiredIds);
-    validateAllRequestsExists(requiredIds, requests);
-    patchStatusField(requests, data);
-    return requestRepository.saveAll(requests);
+  public List<ParticipationRequest> getByEventId(final Long eventId) {
+    log.debug("Fetching requests for event ID {}.", eventId);
+    return requestRepository.findAllByEventId(eventId);
   }
 
   @Override
-  public List<ParticipationRequest> getEventRequestsByStatus(final Long eventId,
-                                                             final List<Long> requestIds,
-                                                             final StatusRequest statusRequest) {
-    log.debug("Fetching pending requests for event ID {}.", eventId);
-
-    final List<ParticipationRequest> requests =
-        requestRepository.findAllByIdInAndEventIdAndStatus(requestIds, eventId, statusRequest);
-    return requests;
-  }
+  @Transactional
+  public RequestStatusUpdate updateStatus(final Long eventId, final List<Long> requestIds,
+                                          final StatusRequest status,
+                                          final Integer participantLimit) {
+    log.debug("Moving {} pending requests of event ID {} to status {}.", requestIds.size(), eventId,
+        status);
+    if (!StatusRequest.CONFIRMED.equals(status) && !StatusRequest.REJECTED.equals(status)) {
+      log.warn("Pending requests cannot be moved to status {}.", status);
+      throw new BadRequestException("Requests can only be CONFIRMED or REJECTED.");
+    }
+    final List<ParticipationRequest> requests = requestRepository
+        .findAllByIdInAndEventIdAndStatus(requestIds, eventId, StatusRequest.PENDING).stream()
+        .sorted(Comparator.comparing(ParticipationRequest::getId))
+        .toList();
+    if (requests.size() < new HashSet<>(requestIds).size()) {
+      log.warn("StatusRequest should be PENDING for all requests to be updated.");
+      throw new ConflictException("StatusRequest should be PENDING for all requests to be updated.");
+    }
 
-  private void patchStatusField(final List<ParticipationRequest> target, final List<ParticipationRequest> source) {
-    log.debug("Changing status field for {} requests.", source.size());
-    Map<Long, StatusRequest> statusById = source.stream()
-        .collect(
-            Collectors.toMap(
-                ParticipationRequest::getId,ParticipationRequest::getStatus));
+    int confirmedCount = 0;
+    if (StatusRequest.CONFIRMED.equals(status)) {
+      confirmedCount = requestRepository.acquireAvailable(eventId, participantLimit,
+          requests.size());
+      if (confirmedCount == 0) {
+        log.warn("Participant limit for the event {} has been reached: limit={}.", eventId,
+            participantLimit);
+        throw new ConflictException("Participant limit for this event has been reached.");
+      }
+    }
+    final List<ParticipationRequest> confirmed = requests.subList(0, confirmedCount);
+    final List<ParticipationRequest> rejected = requests.subList(confirmedCount, requests.size());
 
-    target.forEach(request ->
-        request.setStatus(statusById.get(request.getId())));
+    setStatus(confirmed, StatusRequest.CONFIRMED);
+    setStatus(rejected, StatusRequest.REJECTED);
+    return new RequestStatusUpdate(confirmed, rejected);
   }
 
-  private void validateAllRequestsExists(final List<Long> expectedId, final List<ParticipationRequest> actual) {
-    log.debug("Validating all demanded requests exists in DB.");
-    final Set<Long> actualIds = actual.stream()
-        .map(ParticipationRequest::getId)
-        .collect(Collectors.toSet());
-    final Set<Long> notFoundRequests = expectedId.stream()
-        .filter(id -> !actualIds.contains(id))
-        .collect(Collectors.toSet());
-    if (!notFoundRequests.isEmpty()) {
-      throw new NotFoundException("Not found requests with IDs: " + notFoundRequests + " in DB.");
+  /**
+   * Moves the pending requests to the status. Fails when one of them has left the PENDING status
+   * since it was read, e.g. cancelled or moderated concurrently, rolling back the whole update
+   * together with the places taken for it.
+   */
+  private void setStatus(final List<ParticipationRequest> requests, final StatusRequest status) {
+    if (requests.isEmpty()) {
+      return;
+    }
+    final int updated = requestRepository.updateStatusByIdInAndStatus(
+        requests.stream().map(ParticipationRequest::getId).toList(), StatusRequest.PENDING, status);
+    if (updated != requests.size()) {
+      log.warn("Only {} of {} requests were still pending when moving them to {}.", updated,
+          requests.size(), status);
+      throw new ConflictException("StatusRequest should be PENDING for all requests to be updated.");
     }
+    requests.forEach(request -> request.setStatus(status));
+    log.debug("Changed status of {} requests to {}.", updated, status);
   }
 }
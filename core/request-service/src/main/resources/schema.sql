@@ -11,4 +11,10 @@ CREATE INDEX IF NOT EXISTS idx_participation_request_event ON request (event_id)
 CREATE INDEX IF NOT EXISTS idx_participation_request_requester ON request (user_id);
 CREATE INDEX IF NOT EXISTS idx_participation_request_event_status ON request (event_id, status);
 CREATE INDEX IF NOT EXISTS idx_participation_request_requester_event ON request (user_id, event_id);
-CREATE INDEX IF NOT EXISTS idx_participation_request_id_event_status ON request (id, event_id, status);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_participation_request_id_event_status ON request (id, event_id, status);
+
+CREATE TABLE IF NOT EXISTS event_capacity
+(
+    event_id  BIGINT PRIMARY KEY,
+    confirmed INTEGER NOT NULL DEFAULT 0 CHECK (confirmed >= 0)
+);
@@ -0,0 +1,10 @@
+package ru.practicum.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Response of a service read into memory, to be written again to other clients.
+ */
+record BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+}
@@ -0,0 +1,85 @@
+package ru.practicum.cache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response passing the body of the service to the client and handing a copy of the whole response
+ * to a consumer, unless the body is larger than the given size.
+ */
+class BufferingResponse extends ServerHttpResponseDecorator {
+
+  /**
+   * Header telling how the gateway answered: from the cache, from another request or by calling the
+   * service.
+   */
+  static final String GATEWAY_HEADER = "X-Gateway-Cache";
+
+  /**
+   * Headers describing the connection the response was received on rather than the response.
+   */
+  private static final Set<String> CONNECTION_HEADERS = Set.of(
+      HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.DATE, "Keep-Alive",
+      GATEWAY_HEADER);
+
+  private final long maxBodySize;
+  private final Consumer<BufferedResponse> consumer;
+
+  BufferingResponse(final ServerHttpResponse delegate, final long maxBodySize,
+                    final Consumer<BufferedResponse> consumer) {
+    super(delegate);
+    this.maxBodySize = maxBodySize;
+    this.consumer = consumer;
+  }
+
+  @Override
+  public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+    return DataBufferUtils.join(body)
+        .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+        .flatMap(joined -> {
+          final byte[] bytes = new byte[joined.readableByteCount()];
+          joined.read(bytes);
+          DataBufferUtils.release(joined);
+          if (bytes.length <= maxBodySize) {
+            consumer.accept(new BufferedResponse(getStatusCode(), copyHeaders(), bytes));
+          }
+          return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        });
+  }
+
+  @Override
+  public Mono<Void> writeAndFlushWith(
+      final Publisher<? extends Publisher<? extends DataBuffer>> body) {
+    return writeWith(Flux.from(body).flatMapSequential(Flux::from));
+  }
+
+  /**
+   * Writes a buffered response to the client, marking how the gateway got it.
+   */
+  static Mono<Void> write(final ServerHttpResponse response, final BufferedResponse buffered,
+                          final String source) {
+    response.setStatusCode(buffered.status());
+    response.getHeaders().putAll(buffered.headers());
+    response.getHeaders().set(GATEWAY_HEADER, source);
+    return response.writeWith(Mono.just(response.bufferFactory().wrap(buffered.body())));
+  }
+
+  private HttpHeaders copyHeaders() {
+    final HttpHeaders headers = new HttpHeaders();
+    getHeaders().forEach((name, values) -> {
+      if (CONNECTION_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+        headers.put(name, List.copyOf(values));
+      }
+    });
+    return headers;
+  }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Identity of a GET request on a route: the same path with the same query parameters, in any
+ * order, gets the same key.
+ */
+record RequestKey(String routeId, String request) {
+
+  static RequestKey of(final ServerWebExchange exchange) {
+    final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+    final ServerHttpRequest request = exchange.getRequest();
+    final Map<String, List<String>> params = new TreeMap<>(request.getQueryParams());
+    final String query = params.entrySet().stream()
+        .flatMap(param -> param.getValue().stream()
+            .map(value -> value == null ? param.getKey() : param.getKey() + "=" + value))
+        .collect(Collectors.joining("&"));
+    final String path = request.getPath().value();
+    return new RequestKey(route == null ? "" : route.getId(),
+        query.isEmpty() ? path : path + "?" + query);
+  }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+import java.util.Collection;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded in-memory cache of service responses. Every response belongs to the route it was
+ * received on and is kept for the time set by that route; all responses of a route can be purged
+ * at once.
+ */
+@Slf4j
+public class ResponseCache {
+
+  private final Cache<RequestKey, Entry> responses;
+
+  public ResponseCache(final ResponseCacheProperties properties) {
+    this.responses = Caffeine.newBuilder()
+        .maximumWeight(properties.getMaxSize().toBytes())
+        .<RequestKey, Entry>weigher((key, entry) -> entry.response().body().length)
+        .expireAfter(new Expiry<RequestKey, Entry>() {
+          @Override
+          public long expireAfterCreate(RequestKey key, Entry entry, long currentTime) {
+            return entry.ttl().toNanos();
+          }
+
+          @Override
+          public long expireAfterUpdate(RequestKey key, Entry entry, long currentTime,
+                                        long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(RequestKey key, Entry entry, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .build();
+  }
+
+  BufferedResponse get(final RequestKey key) {
+    final Entry entry = responses.getIfPresent(key);
+    return entry == null ? null : entry.response();
+  }
+
+  void put(final RequestKey key, final BufferedResponse response, final Duration ttl) {
+    responses.put(key, new Entry(response, ttl));
+  }
+
+  /**
+   * Removes all responses received on the routes.
+   */
+  public void purge(final Collection<String> routeIds) {
+    responses.asMap().keySet().removeIf(key -> routeIds.contains(key.routeId()));
+    log.debug("Purged cached responses of routes {}.", routeIds);
+  }
+
+  private record Entry(BufferedResponse response, Duration ttl) {
+  }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+public class ResponseCacheConfiguration {
+
+  @Bean
+  @ConfigurationProperties(prefix = "response-cache")
+  public ResponseCacheProperties responseCacheProperties() {
+    return new ResponseCacheProperties();
+  }
+
+  @Bean
+  public ResponseCache responseCache(final ResponseCacheProperties properties) {
+    return new ResponseCache(properties);
+  }
+
+  @Bean
+  public ResponseCacheGatewayFilterFactory responseCacheGatewayFilterFactory(
+      final ResponseCache cache, final ResponseCacheProperties properties) {
+    return new ResponseCacheGatewayFilterFactory(cache, properties);
+  }
+
+  @Bean
+  public ResponseCachePurgeGatewayFilterFactory responseCachePurgeGatewayFilterFactory(
+      final ResponseCache cache) {
+    return new ResponseCachePurgeGatewayFilterFactory(cache);
+  }
+
+  @Bean
+  @ConfigurationProperties(prefix = "singleflight")
+  public SingleflightProperties singleflightProperties() {
+    return new SingleflightProperties();
+  }
+
+  @Bean
+  public SingleflightGatewayFilterFactory singleflightGatewayFilterFactory(
+      final SingleflightProperties properties) {
+    return new SingleflightGatewayFilterFactory(properties);
+  }
+
+  @Bean
+  @ConfigurationProperties(prefix = "stats-hit")
+  public StatsHitProperties statsHitProperties() {
+    return new StatsHitProperties();
+  }
+
+  @Bean
+  public StatsHitSender statsHitSender(final WebClient.Builder webClientBuilder,
+                                       final LoadBalancedExchangeFilterFunction loadBalancer,
+                                       final StatsHitProperties properties) {
+    return new StatsHitSender(webClientBuilder
+        .baseUrl("http://stats-server")
+        .filter(loadBalancer)
+        .build(), properties);
+  }
+
+  @Bean
+  public StatsHitGatewayFilterFactory statsHitGatewayFilterFactory(final StatsHitSender sender,
+                                                                   final StatsHitProperties properties) {
+    return new StatsHitGatewayFilterFactory(sender, properties);
+  }
+}
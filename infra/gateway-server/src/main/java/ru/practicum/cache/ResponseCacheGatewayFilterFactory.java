@@ -0,0 +1,73 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Answers GET requests of the route from {@link ResponseCache} and caches successful responses of
+ * the service for the time given in the route, e.g. {@code ResponseCache=10m}. Responses the
+ * service built with stale fallback values, marked with {@value #STALE_HEADER}, are not cached.
+ */
+@Slf4j
+public class ResponseCacheGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+  static final String STALE_HEADER = "X-Stale-Age";
+
+  private final ResponseCache cache;
+  private final ResponseCacheProperties properties;
+
+  public ResponseCacheGatewayFilterFactory(final ResponseCache cache,
+                                           final ResponseCacheProperties properties) {
+    super(Config.class);
+    this.cache = cache;
+    this.properties = properties;
+  }
+
+  @Override
+  public List<String> shortcutFieldOrder() {
+    return List.of("ttl");
+  }
+
+  @Override
+  public GatewayFilter apply(final Config config) {
+    final Duration ttl = config.getTtl() == null ? properties.getDefaultTtl() : config.getTtl();
+    return new OrderedGatewayFilter((exchange, chain) -> {
+      if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+        return chain.filter(exchange);
+      }
+      final RequestKey key = RequestKey.of(exchange);
+      final BufferedResponse cached = cache.get(key);
+      if (cached != null) {
+        log.debug("Answering {} from the gateway cache.", key.request());
+        return BufferingResponse.write(exchange.getResponse(), cached, "HIT");
+      }
+      exchange.getResponse().getHeaders().set(BufferingResponse.GATEWAY_HEADER, "MISS");
+      return chain.filter(exchange.mutate()
+          .response(new BufferingResponse(exchange.getResponse(),
+              properties.getMaxBodySize().toBytes(), response -> {
+                if (HttpStatus.OK.isSameCodeAs(response.status())
+                    && !response.headers().containsKey(STALE_HEADER)) {
+                  cache.put(key, response, ttl);
+                }
+              }))
+          .build());
+    }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+  }
+
+  @Getter
+  @Setter
+  public static class Config {
+
+    private Duration ttl;
+  }
+}
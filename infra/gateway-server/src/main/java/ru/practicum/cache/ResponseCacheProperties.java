@@ -0,0 +1,35 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the in-memory cache of public GET responses.
+ */
+@Getter
+@Setter
+public class ResponseCacheProperties {
+
+  /**
+   * Whether routes with the {@code ResponseCache} filter answer from the cache; when disabled every
+   * request reaches the service.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Total size of the cached response bodies; least used responses are evicted beyond it.
+   */
+  private DataSize maxSize = DataSize.ofMegabytes(64);
+
+  /**
+   * Responses with larger bodies are passed through without caching.
+   */
+  private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+  /**
+   * How long a response is kept when its route does not set a time.
+   */
+  private Duration defaultTtl = Duration.ofMinutes(1);
+}
@@ -0,0 +1,59 @@
+package ru.practicum.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import reactor.core.publisher.Mono;
+
+/**
+ * Purges the cached responses of the given routes after a successful write on the route, e.g.
+ * {@code ResponseCachePurge=category_public_route,compilation_public_route} on an admin route.
+ */
+public class ResponseCachePurgeGatewayFilterFactory
+    extends AbstractGatewayFilterFactory<ResponseCachePurgeGatewayFilterFactory.Config> {
+
+  private final ResponseCache cache;
+
+  public ResponseCachePurgeGatewayFilterFactory(final ResponseCache cache) {
+    super(Config.class);
+    this.cache = cache;
+  }
+
+  @Override
+  public ShortcutType shortcutType() {
+    return ShortcutType.GATHER_LIST;
+  }
+
+  @Override
+  public List<String> shortcutFieldOrder() {
+    return List.of("routeIds");
+  }
+
+  @Override
+  public GatewayFilter apply(final Config config) {
+    return (exchange, chain) -> {
+      final HttpMethod method = exchange.getRequest().getMethod();
+      if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+        return chain.filter(exchange);
+      }
+      return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+        final HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null && status.is2xxSuccessful()) {
+          cache.purge(config.getRouteIds());
+        }
+      }));
+    };
+  }
+
+  @Getter
+  @Setter
+  public static class Config {
+
+    private List<String> routeIds = new ArrayList<>();
+  }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Shares one service call between identical GET requests of the route arriving while it is in
+ * flight: the first request calls the service and the others get a copy of its response.
+ * <p>
+ * Requests waiting longer than the maximum wait, or whose shared call failed or answered with a
+ * server error, call the service themselves. Unlike {@link ResponseCacheGatewayFilterFactory},
+ * nothing is kept after the call.
+ * <p>
+ * Waiting requests do not reach the service, so on routes where the service counts every request
+ * the filter goes together with {@link StatsHitGatewayFilterFactory}.
+ */
+@Slf4j
+public class SingleflightGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+  private final SingleflightProperties properties;
+  private final Map<RequestKey, Sinks.One<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+  public SingleflightGatewayFilterFactory(final SingleflightProperties properties) {
+    this.properties = properties;
+  }
+
+  @Override
+  public GatewayFilter apply(final Object config) {
+    return new OrderedGatewayFilter((exchange, chain) -> {
+      if (!properties.isEnabled() || exchange.getRequest().getMethod() != HttpMethod.GET) {
+        return chain.filter(exchange);
+      }
+      final RequestKey key = RequestKey.of(exchange);
+      final Sinks.One<BufferedResponse> call = Sinks.one();
+      final Sinks.One<BufferedResponse> shared = inFlight.putIfAbsent(key, call);
+      if (shared != null) {
+        return shared.asMono()
+            .timeout(properties.getMaxWait())
+            .map(Optional::of)
+            .onErrorReturn(TimeoutException.class, Optional.empty())
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(response -> {
+              if (response.isPresent()) {
+                log.debug("Answering {} with the response of a concurrent request.",
+                    key.request());
+                return BufferingResponse.write(exchange.getResponse(), response.get(), "SHARED");
+              }
+              log.debug("Calling the service for {}, the shared call gave no response.",
+                  key.request());
+              return chain.filter(exchange);
+            });
+      }
+      return chain.filter(exchange.mutate()
+              .response(new BufferingResponse(exchange.getResponse(),
+                  properties.getMaxBodySize().toBytes(), response -> {
+                    if (response.status().is5xxServerError()) {
+                      return;
+                    }
+                    inFlight.remove(key, call);
+                    call.tryEmitValue(response);
+                  }))
+              .build())
+          .doFinally(signal -> {
+            if (inFlight.remove(key, call)) {
+              call.tryEmitEmpty();
+            }
+          });
+    }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+  }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of sharing one service call between identical concurrent GET requests.
+ */
+@Getter
+@Setter
+public class SingleflightProperties {
+
+  /**
+   * Whether routes with the {@code Singleflight} filter share calls; when disabled every request
+   * reaches the service.
+   */
+  private boolean enabled = true;
+
+  /**
+   * How long a request waits for the call already in flight before calling the service itself.
+   */
+  private Duration maxWait = Duration.ofSeconds(2);
+
+  /**
+   * Responses with larger bodies are not shared; waiting requests call the service themselves.
+   */
+  private DataSize maxBodySize = DataSize.ofMegabytes(1);
+}
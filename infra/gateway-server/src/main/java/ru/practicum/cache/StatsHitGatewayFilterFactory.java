@@ -0,0 +1,65 @@
+package ru.practicum.cache;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import ru.practicum.EndPointHitDto;
+
+/**
+ * Records a stats hit for every successful request of the route that the gateway answered itself,
+ * from the cache or with the response of a concurrent request, as the service would have recorded
+ * it had the request reached it. Meant for routes where the service counts every request.
+ */
+@Slf4j
+public class StatsHitGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+  /**
+   * Values of the gateway header for responses that did not come from the service for this request.
+   */
+  private static final Set<String> GATEWAY_ANSWERS = Set.of("HIT", "SHARED");
+
+  private final StatsHitSender sender;
+  private final StatsHitProperties properties;
+
+  public StatsHitGatewayFilterFactory(final StatsHitSender sender,
+                                      final StatsHitProperties properties) {
+    super(Object.class);
+    this.sender = sender;
+    this.properties = properties;
+  }
+
+  @Override
+  public GatewayFilter apply(final Object config) {
+    return new OrderedGatewayFilter((exchange, chain) -> {
+      if (!properties.isEnabled()) {
+        return chain.filter(exchange);
+      }
+      return chain.filter(exchange).doOnSuccess(ignored -> {
+        final ServerHttpResponse response = exchange.getResponse();
+        final HttpStatusCode status = response.getStatusCode();
+        final String source = response.getHeaders().getFirst(BufferingResponse.GATEWAY_HEADER);
+        if (status != null && status.is2xxSuccessful() && GATEWAY_ANSWERS.contains(source)) {
+          sender.send(toHit(exchange.getRequest()));
+        }
+      });
+    }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2);
+  }
+
+  private EndPointHitDto toHit(final ServerHttpRequest request) {
+    final InetSocketAddress remoteAddress = request.getRemoteAddress();
+    log.debug("Recording the hit of {} answered by the gateway.", request.getPath());
+    return new EndPointHitDto()
+        .setApp(properties.getApp())
+        .setUri(request.getPath().value())
+        .setIp(remoteAddress == null ? "unknown" : remoteAddress.getHostString())
+        .setRequestTime(LocalDateTime.now());
+  }
+}
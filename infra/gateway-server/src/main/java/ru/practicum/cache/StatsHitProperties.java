@@ -0,0 +1,33 @@
+package ru.practicum.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Settings of recording stats hits for requests the gateway answers without calling the service.
+ */
+@Getter
+@Setter
+public class StatsHitProperties {
+
+  /**
+   * Whether routes with the {@code StatsHit} filter record hits; when disabled, requests answered
+   * by the gateway are not counted.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Application name the hits are recorded under, the same as the service records its own under.
+   */
+  private String app = "explore-with-me";
+
+  /**
+   * Hits waiting to be sent; hits arriving when it is full are dropped.
+   */
+  private int capacity = 10000;
+
+  private int batchSize = 100;
+
+  private Duration flushInterval = Duration.ofSeconds(1);
+}
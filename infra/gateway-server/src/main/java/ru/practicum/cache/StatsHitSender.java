@@ -0,0 +1,89 @@
+package ru.practicum.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.EndPointHitDto;
+
+/**
+ * Collects hits in memory and sends them to stats-server in batches through its {@code POST /hits}
+ * endpoint. Hits are best-effort: a failed batch or an overflowing buffer is logged and dropped.
+ */
+@Slf4j
+public class StatsHitSender implements InitializingBean, DisposableBean {
+
+  private final WebClient statsServer;
+  private final StatsHitProperties properties;
+  private final BlockingQueue<EndPointHitDto> buffer;
+
+  private Disposable flushing;
+
+  public StatsHitSender(final WebClient statsServer, final StatsHitProperties properties) {
+    this.statsServer = statsServer;
+    this.properties = properties;
+    this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    flushing = Flux.interval(properties.getFlushInterval())
+        .onBackpressureDrop()
+        .concatMap(tick -> flush())
+        .subscribe();
+  }
+
+  @Override
+  public void destroy() {
+    if (flushing != null) {
+      flushing.dispose();
+      flush().block(properties.getFlushInterval());
+    }
+  }
+
+  /**
+   * Buffers the hit for the next batch.
+   */
+  public void send(final EndPointHitDto hit) {
+    if (!buffer.offer(hit)) {
+      log.warn("Stats hit buffer is full ({} hits), dropping hit for uri {}.", buffer.size(),
+          hit.getUri());
+    }
+  }
+
+  /**
+   * Sends all buffered hits in batches of the configured size, one batch at a time.
+   */
+  private Mono<Void> flush() {
+    return Flux.<List<EndPointHitDto>>generate(sink -> {
+          final List<EndPointHitDto> batch = new ArrayList<>(properties.getBatchSize());
+          if (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+            sink.next(batch);
+          } else {
+            sink.complete();
+          }
+        })
+        .concatMap(batch -> statsServer.post()
+            .uri("/hits")
+            .bodyValue(batch)
+            .retrieve()
+            .toBodilessEntity()
+            .doOnSuccess(response -> log.debug("Sent {} hits to stats-server.", batch.size()))
+            .onErrorResume(e -> {
+              log.warn("Failed to send {} hits to stats-server, batch dropped: {}.", batch.size(),
+                  e.getMessage());
+              return Mono.empty();
+            }))
+        .then();
+  }
+}
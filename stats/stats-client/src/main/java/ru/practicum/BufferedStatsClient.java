@@ -0,0 +1,104 @@
+package ru.practicum;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.config.StatsClientProperties;
+
+/**
+ * Collects endpoint hits in memory and ships them to stats-server in batches via
+ * {@link StatsClient#saveEndpointHits}, off the request thread. Hits are best-effort: a failed
+ * batch or an overflowing buffer is logged and dropped rather than slowing down the caller.
+ */
+@Component
+@Slf4j
+public class BufferedStatsClient {
+
+  private final StatsClient statsClient;
+  private final StatsClientProperties properties;
+  private final BlockingQueue<EndPointHitDto> buffer;
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+  private ScheduledExecutorService executor;
+
+  public BufferedStatsClient(final StatsClient statsClient,
+                             final StatsClientProperties properties) {
+    this.statsClient = statsClient;
+    this.properties = properties;
+    this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("stats-hit-sender").daemon().factory());
+    final long interval = properties.getFlushInterval().toMillis();
+    executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    executor.awaitTermination(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+    flush();
+  }
+
+  /**
+   * Buffers the hit for the next batch. Returns immediately unless buffering is disabled.
+   */
+  public void saveEndpointHit(final EndPointHitDto hit) {
+    if (executor == null) {
+      statsClient.saveEndpointHit(hit);
+      return;
+    }
+    if (!buffer.offer(hit)) {
+      log.warn("Stats hit buffer is full ({} hits), dropping hit for uri {}.", buffer.size(),
+          hit.getUri());
+      return;
+    }
+    if (buffer.size() >= properties.getBatchSize() && flushRequested.compareAndSet(false, true)) {
+      executor.execute(this::flush);
+    }
+  }
+
+  /**
+   * Sends the hit right away, past the buffer, for hits that the next reads of the caller must
+   * already count.
+   */
+  public void sendEndpointHit(final EndPointHitDto hit) {
+    statsClient.saveEndpointHit(hit);
+  }
+
+  /**
+   * Sends all buffered hits in batches of the configured size.
+   */
+  public synchronized void flush() {
+    flushRequested.set(false);
+    final List<EndPointHitDto> batch = new ArrayList<>(properties.getBatchSize());
+    while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+      try {
+        statsClient.saveEndpointHits(batch);
+        log.debug("Sent {} hits to stats-server.", batch.size());
+      } catch (RuntimeException e) {
+        log.warn("Failed to send {} hits to stats-server, batch dropped: {}.", batch.size(),
+            e.getMessage());
+      }
+      batch.clear();
+    }
+  }
+}
@@ -20,6 +20,10 @@ public interface StatsClient {
   @ResponseStatus(HttpStatus.CREATED)
   void saveEndpointHit(@Valid @RequestBody EndPointHitDto endpointHit);
 
+  @PostMapping("/hits")
+  @ResponseStatus(HttpStatus.CREATED)
+  void saveEndpointHits(@RequestBody List<EndPointHitDto> endpointHits);
+
   @GetMapping("/stats")
   ResponseEntity<List<ViewStatsDto>> getStats(
       @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
@@ -28,4 +32,20 @@ public interface StatsClient {
       @RequestParam(defaultValue = "false") boolean unique
   );
 
+  /**
+   * With {@code unique} and {@code approximate} both set, unique-IP counts are estimated from
+   * pre-aggregated sketches instead of being counted exactly.
+   */
+  @GetMapping("/stats")
+  ResponseEntity<List<ViewStatsDto>> getStats(
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
+      @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
+      @RequestParam(required = false) List<String> uris,
+      @RequestParam(defaultValue = "false") boolean unique,
+      @RequestParam(defaultValue = "false") boolean approximate
+  );
+
+  @GetMapping("/stats/changes")
+  HitChangesDto getChanges(@RequestParam(required = false) Long since);
+
 }
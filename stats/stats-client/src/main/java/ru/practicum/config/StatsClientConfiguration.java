@@ -0,0 +1,10 @@
+package ru.practicum.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StatsClientProperties.class)
+public class StatsClientConfiguration {
+
+}
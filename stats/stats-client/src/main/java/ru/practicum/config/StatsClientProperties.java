@@ -0,0 +1,35 @@
+package ru.practicum.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the client-side hit buffer used by {@link ru.practicum.BufferedStatsClient}.
+ */
+@ConfigurationProperties(prefix = "stats.client.buffer")
+@Getter
+@Setter
+public class StatsClientProperties {
+
+  /**
+   * When disabled, every hit is sent to stats-server on the caller thread.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Maximum number of hits kept in memory; hits above it are dropped.
+   */
+  private int capacity = 10_000;
+
+  /**
+   * Number of hits sent with one POST /hits call.
+   */
+  private int batchSize = 100;
+
+  /**
+   * Maximum time a hit waits in the buffer before being sent.
+   */
+  private Duration flushInterval = Duration.ofSeconds(1);
+}
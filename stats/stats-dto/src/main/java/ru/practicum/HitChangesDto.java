@@ -0,0 +1,22 @@
+package ru.practicum;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * URIs that received hits after the given cursor, and the cursor to continue from.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class HitChangesDto {
+
+    private Long cursor;
+    private List<String> uris;
+}
@@ -0,0 +1,47 @@
+package ru.practicum.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the endpoint hit write path.
+ * <p>
+ * In {@link IngestionMode#SYNC} mode every hit is persisted within the HTTP call. In
+ * {@link IngestionMode#ASYNC} mode hits are put on a bounded in-memory queue and flushed by a
+ * background writer with JDBC batch inserts once {@code batchSize} hits are collected or
+ * {@code flushInterval} has elapsed, whichever comes first.
+ */
+@ConfigurationProperties(prefix = "stats.ingestion")
+@Getter
+@Setter
+public class HitIngestionProperties {
+
+  private IngestionMode mode = IngestionMode.SYNC;
+
+  /**
+   * Maximum number of hits waiting to be flushed.
+   */
+  private int queueCapacity = 10_000;
+
+  /**
+   * Maximum number of hits written by a single batch insert.
+   */
+  private int batchSize = 500;
+
+  /**
+   * Maximum time a hit waits in the queue before being flushed.
+   */
+  private Duration flushInterval = Duration.ofMillis(500);
+
+  /**
+   * How long an incoming hit waits for a free queue slot before the request is rejected.
+   */
+  private Duration offerTimeout = Duration.ofMillis(100);
+
+  public enum IngestionMode {
+    SYNC,
+    ASYNC
+  }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.config;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@code request_time} range partitions of the {@code endpointhit} table.
+ */
+@ConfigurationProperties(prefix = "stats.partitioning")
+@Getter
+@Setter
+public class StatsPartitionProperties {
+
+  private boolean enabled = true;
+
+  private PartitionInterval interval = PartitionInterval.DAY;
+
+  /**
+   * Number of partitions kept created ahead of the current one.
+   */
+  private int precreate = 7;
+
+  /**
+   * Raw hits older than this are dropped together with their partition. Rollup counters and
+   * sketches are kept.
+   */
+  private Period retention = Period.ofDays(365);
+
+  /**
+   * Delay between two partition maintenance runs.
+   */
+  private Duration checkInterval = Duration.ofHours(1);
+
+  /**
+   * Hits of a plain table, created before partitioning, copied into range partitions per run.
+   */
+  private int migrationBatchSize = 20000;
+
+  /**
+   * Delay between two runs copying hits of a plain table.
+   */
+  private Duration migrationDelay = Duration.ofSeconds(1);
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum PartitionInterval {
+    DAY(ChronoUnit.DAYS),
+    MONTH(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+  }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the per-minute, per-hour and per-day hit counters used to answer non-unique
+ * {@code GET /stats} queries without scanning the whole {@code endpointhit} table, and of the
+ * per-hour and per-day HyperLogLog sketches behind approximate unique-IP counts.
+ */
+@ConfigurationProperties(prefix = "stats.rollup")
+@Getter
+@Setter
+public class StatsRollupProperties {
+
+  private boolean enabled = true;
+
+  /**
+   * Delay between two runs of the rollup job. Hits are rolled up one run after they are
+   * first seen, so in-flight inserts have a full interval to commit.
+   */
+  private Duration interval = Duration.ofMinutes(1);
+
+  /**
+   * Target relative standard error of approximate unique-IP counts; defines the sketch size.
+   */
+  private double uniqueRelativeError = 0.02;
+
+  /**
+   * Largest range of hit IDs rolled up by one run, so a backlog such as the first run over
+   * existing history is worked off over several runs in bounded transactions.
+   */
+  private int maxHitsPerRun = 100_000;
+
+  /**
+   * Number of sketches built in memory before they are merged into the stored ones; bounds the
+   * heap used by a run.
+   */
+  private int sketchFlushSize = 1_000;
+}
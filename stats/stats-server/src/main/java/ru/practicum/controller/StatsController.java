@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.EndPointHitDto;
+import ru.practicum.HitChangesDto;
 import ru.practicum.service.StatsService;
 import ru.practicum.ViewStatsDto;
 
@@ -36,16 +37,30 @@ public class StatsController {
     statsService.saveEndpointHit(endpointHit);
   }
 
+  @PostMapping("/hits")
+  @ResponseStatus(HttpStatus.CREATED)
+  public void saveEndpointHits(@RequestBody final List<@Valid EndPointHitDto> endpointHits) {
+    log.info("Received request POST /hits with {} hits", endpointHits.size());
+    statsService.saveEndpointHits(endpointHits);
+  }
+
   @GetMapping("/stats")
   public ResponseEntity<List<ViewStatsDto>> getStats(
       @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") final LocalDateTime start,
       @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") final LocalDateTime end,
       @RequestParam(required = false) final List<String> uris,
-      @RequestParam(defaultValue = "false") final boolean unique) {
-    log.info("StatService: Received request Get /stats?start={}&end={}&uris={}&unique={}",
-        start, end, uris, unique);
-    List<ViewStatsDto> resultStats = statsService.getStats(start, end, uris, unique);
+      @RequestParam(defaultValue = "false") final boolean unique,
+      @RequestParam(defaultValue = "false") final boolean approximate) {
+    log.info("StatService: Received request Get /stats?start={}&end={}&uris={}&unique={}&approximate={}",
+        start, end, uris, unique, approximate);
+    List<ViewStatsDto> resultStats = statsService.getStats(start, end, uris, unique, approximate);
     log.info("StatService: Sending statistic result of {} uris.", resultStats.size());
     return ResponseEntity.ok(resultStats);
   }
+
+  @GetMapping("/stats/changes")
+  public HitChangesDto getChanges(@RequestParam(required = false) final Long since) {
+    log.info("StatService: Received request Get /stats/changes?since={}", since);
+    return statsService.getChanges(since);
+  }
 }
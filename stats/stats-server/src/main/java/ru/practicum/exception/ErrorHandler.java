@@ -30,6 +30,13 @@ public class ErrorHandler {
     return buildErrorResponse(HttpStatus.BAD_REQUEST, "Bad request", e);
   }
 
+  @ExceptionHandler(ServiceUnavailableException.class)
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ResponseEntity<ErrorResponse> handleServiceUnavailable(final ServiceUnavailableException e) {
+    log.warn("503 Service Unavailable: {}", e.getMessage());
+    return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable", e);
+  }
+
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ResponseEntity<ErrorResponse> handleInternalServerError(final Exception e) {
@@ -0,0 +1,33 @@
+package ru.practicum.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bucket sizes of the pre-aggregated hit counters, from the finest to the coarsest.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RollupGranularity {
+
+  MINUTE(ChronoUnit.MINUTES, "minute"),
+  HOUR(ChronoUnit.HOURS, "hour"),
+  DAY(ChronoUnit.DAYS, "day");
+
+  private final ChronoUnit unit;
+  /**
+   * Field name understood by PostgreSQL {@code date_trunc}.
+   */
+  private final String sqlField;
+
+  public LocalDateTime floor(final LocalDateTime time) {
+    return time.truncatedTo(unit);
+  }
+
+  public LocalDateTime ceil(final LocalDateTime time) {
+    final LocalDateTime floor = floor(time);
+    return floor.equals(time) ? floor : floor.plus(1, unit);
+  }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.repository;
+
+import java.util.List;
+import ru.practicum.model.EndPointHit;
+
+public interface StatsBatchRepository {
+
+  void insertAll(List<EndPointHit> hits);
+
+}
@@ -0,0 +1,39 @@
+package ru.practicum.repository;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.model.EndPointHit;
+
+@Repository
+public class StatsBatchRepositoryImpl implements StatsBatchRepository {
+
+  private static final String INSERT_HIT =
+      "INSERT INTO endpointhit (app, uri, ip, request_time) VALUES (?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public StatsBatchRepositoryImpl(final JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Writes hits with a single JDBC batch, bypassing the persistence context and IDENTITY
+   * round-trips per row.
+   */
+  @Override
+  @Transactional
+  public void insertAll(final List<EndPointHit> hits) {
+    if (hits.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(INSERT_HIT, hits, hits.size(), (ps, hit) -> {
+      ps.setString(1, hit.getApp());
+      ps.setString(2, hit.getUri());
+      ps.setString(3, hit.getIp());
+      ps.setObject(4, hit.getRequestTime());
+    });
+  }
+
+}
@@ -0,0 +1,67 @@
+package ru.practicum.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface StatsPartitionRepository {
+
+  /**
+   * Checks whether {@code endpointhit} is a partitioned table; tables created before partitioning
+   * was introduced are plain ones.
+   */
+  boolean isPartitioned();
+
+  void createDefaultPartition();
+
+  void createPartition(String name, LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Returns the exclusive upper bound of every range partition by partition name.
+   */
+  Map<String, LocalDateTime> findPartitionUpperBounds();
+
+  void dropPartition(String name);
+
+  int deleteFromDefaultPartition(LocalDateTime before);
+
+  /**
+   * Creates the partitioned table the hits of a plain {@code endpointhit} are copied into, with its
+   * DEFAULT partition and index.
+   */
+  void createMigrationTable();
+
+  void createMigrationPartition(String name, LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Returns the highest hit ID already copied into the migration table, or 0.
+   */
+  int findMigratedUpTo();
+
+  /**
+   * Returns the highest ID among the next {@code limit} hits of the plain table after the given ID,
+   * or null when all of them have been copied.
+   */
+  Integer findMigrationBatchEnd(int afterId, int limit);
+
+  /**
+   * Returns the start of every interval, truncated to the unit, that hits of the plain table with
+   * IDs in {@code (afterId, toId]} requested since {@code since} fall into.
+   */
+  List<LocalDateTime> findMigrationIntervals(int afterId, int toId, LocalDateTime since,
+                                             String unit);
+
+  /**
+   * Copies hits of the plain table with IDs in {@code (afterId, toId]} requested since
+   * {@code since} into the migration table, keeping their IDs. Hits copied before are skipped.
+   */
+  int copyToMigrationTable(int afterId, int toId, LocalDateTime since);
+
+  /**
+   * Copies the hits written to the plain table after the given ID while holding off new ones,
+   * moves the identity past them and replaces the plain table by the migration table. Does nothing
+   * if the table has been replaced already.
+   */
+  void completeMigration(int afterId, LocalDateTime since);
+
+}
@@ -0,0 +1,204 @@
+package ru.practicum.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Partition DDL cannot take bind parameters, so bounds are formatted from {@link LocalDateTime}
+ * values and names are either generated by the caller or read from the catalog.
+ */
+@Repository
+public class StatsPartitionRepositoryImpl implements StatsPartitionRepository {
+
+  public static final String DEFAULT_PARTITION = "endpointhit_default";
+
+  /**
+   * Partitioned table the hits of a plain {@code endpointhit} are copied into before it replaces
+   * the plain one. Its constraint and index names get the same suffix, as they share the schema
+   * with those of the plain table until then.
+   */
+  private static final String MIGRATION_TABLE = "endpointhit_partitioned";
+
+  private static final DateTimeFormatter BOUND_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+  private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+  private static final String SELECT_TABLE_KIND = """
+      SELECT relkind
+      FROM pg_class
+      WHERE oid = to_regclass('endpointhit')""";
+
+  private static final String SELECT_PARTITIONS = """
+      SELECT c.relname AS name, pg_get_expr(c.relpartbound, c.oid) AS bound
+      FROM pg_inherits i
+      JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = to_regclass('endpointhit')""";
+
+  private static final String CREATE_MIGRATION_TABLE = """
+      CREATE TABLE IF NOT EXISTS endpointhit_partitioned
+      (
+          id INTEGER GENERATED ALWAYS AS IDENTITY,
+          app VARCHAR(255) NOT NULL,
+          uri VARCHAR(255) NOT NULL,
+          ip VARCHAR(39) NOT NULL,
+          request_time TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+          CONSTRAINT pk_endpoint_hit_partitioned PRIMARY KEY (id, request_time)
+      ) PARTITION BY RANGE (request_time)""";
+
+  private static final String SELECT_MIGRATION_BATCH_END = """
+      SELECT MAX(id)
+      FROM (
+          SELECT id
+          FROM endpointhit
+          WHERE id > ?
+          ORDER BY id
+          LIMIT ?
+      ) batch""";
+
+  private static final String SELECT_MIGRATION_INTERVALS = """
+      SELECT DISTINCT date_trunc(?, request_time)
+      FROM endpointhit
+      WHERE id > ?
+        AND id <= ?
+        AND request_time >= ?""";
+
+  private static final String COPY_TO_MIGRATION_TABLE = """
+      INSERT INTO endpointhit_partitioned (id, app, uri, ip, request_time)
+      OVERRIDING SYSTEM VALUE
+      SELECT id, app, uri, ip, request_time
+      FROM endpointhit
+      WHERE id > ?
+        AND id <= ?
+        AND request_time >= ?
+      ON CONFLICT DO NOTHING""";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public StatsPartitionRepositoryImpl(final JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public boolean isPartitioned() {
+    return jdbcTemplate.queryForList(SELECT_TABLE_KIND, String.class).contains("p");
+  }
+
+  @Override
+  public void createDefaultPartition() {
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION
+        + " PARTITION OF endpointhit DEFAULT");
+  }
+
+  @Override
+  public void createPartition(final String name, final LocalDateTime from,
+                              final LocalDateTime to) {
+    createPartition("endpointhit", name, from, to);
+  }
+
+  @Override
+  public Map<String, LocalDateTime> findPartitionUpperBounds() {
+    final Map<String, LocalDateTime> bounds = new HashMap<>();
+    jdbcTemplate.query(SELECT_PARTITIONS, (RowCallbackHandler) rs -> {
+      final Matcher matcher = UPPER_BOUND.matcher(rs.getString("bound"));
+      if (matcher.find()) {
+        bounds.put(rs.getString("name"), LocalDateTime.parse(matcher.group(1), BOUND_FORMAT));
+      }
+    });
+    return bounds;
+  }
+
+  @Override
+  public void dropPartition(final String name) {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS \"" + name.replace("\"", "\"\"") + "\"");
+  }
+
+  @Override
+  public int deleteFromDefaultPartition(final LocalDateTime before) {
+    return jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE request_time < ?",
+        before);
+  }
+
+  @Override
+  public void createMigrationTable() {
+    jdbcTemplate.execute(CREATE_MIGRATION_TABLE);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF "
+        + MIGRATION_TABLE + " DEFAULT");
+    jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_endpointhit_partitioned_uri_request_time"
+        + " ON " + MIGRATION_TABLE + " (uri, request_time)");
+  }
+
+  @Override
+  public void createMigrationPartition(final String name, final LocalDateTime from,
+                                       final LocalDateTime to) {
+    createPartition(MIGRATION_TABLE, name, from, to);
+  }
+
+  @Override
+  public int findMigratedUpTo() {
+    final Integer migratedUpTo = jdbcTemplate.queryForObject(
+        "SELECT COALESCE(MAX(id), 0) FROM " + MIGRATION_TABLE, Integer.class);
+    return migratedUpTo == null ? 0 : migratedUpTo;
+  }
+
+  @Override
+  public Integer findMigrationBatchEnd(final int afterId, final int limit) {
+    return jdbcTemplate.queryForObject(SELECT_MIGRATION_BATCH_END, Integer.class, afterId, limit);
+  }
+
+  @Override
+  public List<LocalDateTime> findMigrationIntervals(final int afterId, final int toId,
+                                                    final LocalDateTime since, final String unit) {
+    return jdbcTemplate.queryForList(SELECT_MIGRATION_INTERVALS, Timestamp.class, unit, afterId,
+            toId, since).stream()
+        .map(Timestamp::toLocalDateTime)
+        .toList();
+  }
+
+  @Override
+  public int copyToMigrationTable(final int afterId, final int toId, final LocalDateTime since) {
+    return jdbcTemplate.update(COPY_TO_MIGRATION_TABLE, afterId, toId, since);
+  }
+
+  /**
+   * The plain table is locked against writes, not reads, while the last hits are copied. Writes
+   * waiting for the lock look the table name up again once it is released and go to the
+   * partitioned table.
+   */
+  @Override
+  @Transactional
+  public void completeMigration(final int afterId, final LocalDateTime since) {
+    jdbcTemplate.execute("LOCK TABLE endpointhit IN EXCLUSIVE MODE");
+    if (isPartitioned()) {
+      return;
+    }
+    copyToMigrationTable(afterId, Integer.MAX_VALUE, since);
+    jdbcTemplate.queryForObject("""
+        SELECT setval(pg_get_serial_sequence('endpointhit_partitioned', 'id'),
+                      COALESCE(MAX(id), 1), MAX(id) IS NOT NULL)
+        FROM endpointhit""", Long.class);
+    jdbcTemplate.execute("DROP TABLE endpointhit");
+    jdbcTemplate.execute("ALTER TABLE " + MIGRATION_TABLE + " RENAME TO endpointhit");
+    jdbcTemplate.execute(
+        "ALTER TABLE endpointhit RENAME CONSTRAINT pk_endpoint_hit_partitioned TO pk_endpoint_hit");
+    jdbcTemplate.execute("ALTER INDEX idx_endpointhit_partitioned_uri_request_time"
+        + " RENAME TO idx_endpointhit_uri_request_time");
+    jdbcTemplate.execute("ALTER SEQUENCE endpointhit_partitioned_id_seq RENAME TO endpointhit_id_seq");
+  }
+
+  private void createPartition(final String table, final String name, final LocalDateTime from,
+                               final LocalDateTime to) {
+    jdbcTemplate.execute(String.format(
+        "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+        name, table, BOUND_FORMAT.format(from), BOUND_FORMAT.format(to)));
+  }
+}
@@ -1,8 +1,23 @@
 package ru.practicum.repository;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.model.EndPointHit;
 
-public interface StatsRepository extends JpaRepository<EndPointHit, Integer>, StatsQueryRepository {
+public interface StatsRepository extends JpaRepository<EndPointHit, Integer>, StatsQueryRepository,
+    StatsBatchRepository, StatsRollupRepository, StatsPartitionRepository {
+
+  @Query("SELECT COALESCE(MAX(h.id), 0) FROM EndPointHit h")
+  int findMaxId();
+
+  @Query("""
+      SELECT DISTINCT h.uri
+      FROM EndPointHit h
+      WHERE h.id > :fromId
+        AND h.id <= :toId
+      """)
+  List<String> findUrisHitBetween(@Param("fromId") int fromId, @Param("toId") int toId);
 
 }
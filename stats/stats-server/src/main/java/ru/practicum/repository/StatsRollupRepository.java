@@ -0,0 +1,27 @@
+package ru.practicum.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import ru.practicum.ViewStatsDto;
+
+public interface StatsRollupRepository {
+
+  /**
+   * Adds hits written since the previous run to the rollup counters and returns their number.
+   */
+  long rollUpNewHits();
+
+  /**
+   * Returns non-unique hit counts per app and uri, read from the coarsest rollup buckets that fit
+   * into the range plus raw rows for its unaligned edges and for not yet rolled up hits.
+   */
+  List<ViewStatsDto> getRollupStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+
+  /**
+   * Returns estimated unique-IP counts per app and uri by merging hour and day HyperLogLog
+   * sketches with the IPs of raw rows outside them.
+   */
+  List<ViewStatsDto> getApproximateUniqueStats(LocalDateTime start, LocalDateTime end,
+                                               List<String> uris);
+
+}
@@ -0,0 +1,345 @@
+package ru.practicum.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ViewStatsDto;
+import ru.practicum.config.StatsRollupProperties;
+import ru.practicum.model.RollupGranularity;
+import ru.practicum.sketch.HyperLogLog;
+
+@Slf4j
+@Repository
+public class StatsRollupRepositoryImpl implements StatsRollupRepository {
+
+  private static final String SELECT_STATE_FOR_UPDATE = """
+      SELECT last_hit_id, pending_hit_id
+      FROM endpointhit_rollup_state
+      WHERE id = 1
+      FOR UPDATE""";
+
+  private static final String UPDATE_STATE = """
+      UPDATE endpointhit_rollup_state
+      SET last_hit_id = :lastHitId, pending_hit_id = :pendingHitId
+      WHERE id = 1""";
+
+  private static final String SELECT_MAX_HIT_ID = "SELECT COALESCE(MAX(id), 0) FROM endpointhit";
+
+  /**
+   * Granularity name and {@code date_trunc} field are taken from {@link RollupGranularity}, never
+   * from user input.
+   */
+  private static final String ROLL_UP_RANGE = """
+      INSERT INTO endpointhit_rollup (granularity, bucket_start, app, uri, hits)
+      SELECT '%1$s', date_trunc('%2$s', request_time), app, uri, COUNT(*)
+      FROM endpointhit
+      WHERE id > :fromId AND id <= :toId
+      GROUP BY date_trunc('%2$s', request_time), app, uri
+      ON CONFLICT (granularity, bucket_start, app, uri)
+      DO UPDATE SET hits = endpointhit_rollup.hits + EXCLUDED.hits""";
+
+  private static final String SELECT_HITS_IN_RANGE = """
+      SELECT app, uri, ip, request_time
+      FROM endpointhit
+      WHERE id > :fromId AND id <= :toId""";
+
+  private static final String SELECT_SKETCHES = """
+      SELECT granularity, bucket_start, app, uri, sketch
+      FROM endpointhit_sketch
+      WHERE (granularity, bucket_start, app, uri) IN (:keys)""";
+
+  private static final String UPSERT_SKETCH = """
+      INSERT INTO endpointhit_sketch (granularity, bucket_start, app, uri, sketch)
+      VALUES (:granularity, :bucketStart, :app, :uri, :sketch)
+      ON CONFLICT (granularity, bucket_start, app, uri)
+      DO UPDATE SET sketch = EXCLUDED.sketch""";
+
+  /**
+   * Per-minute sketches would cost more storage than the raw rows they summarize, so unique-IP
+   * sketches start at hour buckets and partial hours are read from the raw table.
+   */
+  private static final Set<RollupGranularity> SKETCH_GRANULARITIES =
+      EnumSet.of(RollupGranularity.HOUR, RollupGranularity.DAY);
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final int sketchPrecision;
+  private final int maxHitsPerRun;
+  private final int sketchFlushSize;
+
+  public StatsRollupRepositoryImpl(final NamedParameterJdbcTemplate jdbcTemplate,
+                                   final StatsRollupProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.sketchPrecision = HyperLogLog.precisionFor(properties.getUniqueRelativeError());
+    this.maxHitsPerRun = Math.max(1, properties.getMaxHitsPerRun());
+    this.sketchFlushSize = Math.max(1, properties.getSketchFlushSize());
+  }
+
+  /**
+   * Rolls up hits with IDs in {@code (last_hit_id, pending_hit_id]}, at most the configured number
+   * of IDs per run, and remembers the current max ID as the next upper bound. Deferring by one run
+   * leaves slow inserts, whose IDENTITY values were taken earlier than they commit, time to become
+   * visible before their range is closed.
+   */
+  @Override
+  @Transactional
+  public long rollUpNewHits() {
+    final Map<String, Object> state = jdbcTemplate.queryForMap(SELECT_STATE_FOR_UPDATE, Map.of());
+    final long lastHitId = ((Number) state.get("last_hit_id")).longValue();
+    final long pendingHitId = ((Number) state.get("pending_hit_id")).longValue();
+
+    final long toHitId = Math.min(pendingHitId, lastHitId + maxHitsPerRun);
+    if (toHitId > lastHitId) {
+      final MapSqlParameterSource range = new MapSqlParameterSource()
+          .addValue("fromId", lastHitId)
+          .addValue("toId", toHitId);
+      for (RollupGranularity granularity : RollupGranularity.values()) {
+        jdbcTemplate.update(
+            String.format(ROLL_UP_RANGE, granularity.name(), granularity.getSqlField()), range);
+      }
+      updateSketches(range);
+    }
+
+    final Long maxHitId = jdbcTemplate.queryForObject(SELECT_MAX_HIT_ID, Map.of(), Long.class);
+    jdbcTemplate.update(UPDATE_STATE, new MapSqlParameterSource()
+        .addValue("lastHitId", toHitId)
+        .addValue("pendingHitId", Math.max(maxHitId == null ? 0 : maxHitId, pendingHitId)));
+    return toHitId - lastHitId;
+  }
+
+  @Override
+  public List<ViewStatsDto> getRollupStats(final LocalDateTime start, final LocalDateTime end,
+                                           final List<String> uris) {
+    final RangeQuery query = new RangeQuery(uris, "app, uri, COUNT(*) AS hits", "app, uri");
+    planRange(start, end, RollupGranularity.MINUTE, query,
+        segment -> query.addBuckets("endpointhit_rollup", "app, uri, hits", segment));
+
+    final String sql = "SELECT app, uri, SUM(hits) AS hits FROM (\n" + query.union
+        + "\n) AS s GROUP BY app, uri ORDER BY hits DESC";
+    log.debug("Reading stats for {} - {} from rollup: {}", start, end, sql);
+    return jdbcTemplate.query(sql, query.params, (rs, rowNum) ->
+        new ViewStatsDto(rs.getString("app"), rs.getString("uri"), rs.getLong("hits")));
+  }
+
+  /**
+   * Sketches and raw IPs are read by two statements, so both run in one repeatable-read snapshot
+   * to see the same rollup watermark.
+   */
+  @Override
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  public List<ViewStatsDto> getApproximateUniqueStats(final LocalDateTime start,
+                                                      final LocalDateTime end,
+                                                      final List<String> uris) {
+    final RangeQuery sketchQuery = new RangeQuery(uris, null, null);
+    final RangeQuery rawQuery = new RangeQuery(uris, "app, uri, ip", "app, uri, ip");
+    planRange(start, end, RollupGranularity.HOUR, rawQuery,
+        segment -> sketchQuery.addBuckets("endpointhit_sketch", "app, uri, sketch", segment));
+
+    final Map<AppUri, HyperLogLog> sketches = new HashMap<>();
+    if (sketchQuery.counter > 0) {
+      jdbcTemplate.query(sketchQuery.union.toString(), sketchQuery.params,
+          (RowCallbackHandler) rs -> sketches.merge(
+              new AppUri(rs.getString("app"), rs.getString("uri")),
+              HyperLogLog.fromBytes(rs.getBytes("sketch")),
+              HyperLogLog::merge));
+    }
+    jdbcTemplate.query(rawQuery.union.toString(), rawQuery.params,
+        (RowCallbackHandler) rs -> sketches
+            .computeIfAbsent(new AppUri(rs.getString("app"), rs.getString("uri")),
+                key -> new HyperLogLog(sketchPrecision))
+            .add(rs.getString("ip")));
+
+    return sketches.entrySet().stream()
+        .map(entry -> new ViewStatsDto(entry.getKey().app(), entry.getKey().uri(),
+            entry.getValue().estimate()))
+        .sorted(Comparator.comparing(ViewStatsDto::getHits).reversed())
+        .toList();
+  }
+
+  /**
+   * Adds IPs of the hits in the ID range to the hour and day sketches they fall into. Sketches are
+   * merged into the stored ones whenever enough of them are built, so heap use does not grow with
+   * the range. The caller holds the rollup state lock, so read-merge-write of a stored sketch
+   * cannot race.
+   */
+  private void updateSketches(final MapSqlParameterSource range) {
+    final Map<SketchKey, HyperLogLog> sketches = new HashMap<>();
+    final int[] updated = {0};
+    jdbcTemplate.query(SELECT_HITS_IN_RANGE, range, (RowCallbackHandler) rs -> {
+      final LocalDateTime requestTime = rs.getObject("request_time", LocalDateTime.class);
+      for (RollupGranularity granularity : SKETCH_GRANULARITIES) {
+        final SketchKey key = new SketchKey(granularity, granularity.floor(requestTime),
+            rs.getString("app"), rs.getString("uri"));
+        sketches.computeIfAbsent(key, k -> new HyperLogLog(sketchPrecision))
+            .add(rs.getString("ip"));
+      }
+      if (sketches.size() >= sketchFlushSize) {
+        updated[0] += mergeSketches(sketches);
+      }
+    });
+    updated[0] += mergeSketches(sketches);
+    log.debug("Updated {} unique-IP sketches.", updated[0]);
+  }
+
+  /**
+   * Merges the sketches into the stored ones with one select and one batch upsert, then clears
+   * them, and returns their number.
+   */
+  private int mergeSketches(final Map<SketchKey, HyperLogLog> sketches) {
+    if (sketches.isEmpty()) {
+      return 0;
+    }
+    final List<Object[]> keys = sketches.keySet().stream()
+        .map(SketchKey::toTuple)
+        .toList();
+    jdbcTemplate.query(SELECT_SKETCHES, new MapSqlParameterSource("keys", keys),
+        (RowCallbackHandler) rs -> {
+          final SketchKey key = new SketchKey(
+              RollupGranularity.valueOf(rs.getString("granularity")),
+              rs.getObject("bucket_start", LocalDateTime.class),
+              rs.getString("app"), rs.getString("uri"));
+          final HyperLogLog stored = HyperLogLog.fromBytes(rs.getBytes("sketch"));
+          sketches.computeIfPresent(key, (k, delta) -> stored.merge(delta));
+        });
+    final SqlParameterSource[] upserts = sketches.entrySet().stream()
+        .map(entry -> entry.getKey().toParams().addValue("sketch", entry.getValue().toBytes()))
+        .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(UPSERT_SKETCH, upserts);
+    sketches.clear();
+    return upserts.length;
+  }
+
+  /**
+   * Splits {@code [start, end]} into raw edges before the first and after the last bucket boundary
+   * of the finest granularity, and an aligned middle part covered by buckets plus raw rows that
+   * are not rolled up yet.
+   */
+  private static void planRange(final LocalDateTime start, final LocalDateTime end,
+                                final RollupGranularity finest, final RangeQuery rawQuery,
+                                final Consumer<Segment> bucketConsumer) {
+    final LocalDateTime alignedStart = finest.ceil(start);
+    final LocalDateTime alignedEnd = finest.floor(end);
+
+    if (!alignedStart.isBefore(alignedEnd)) {
+      rawQuery.addRaw(start, end, true, false);
+      return;
+    }
+    rawQuery.addRaw(start, alignedStart, false, false);
+    final List<Segment> segments = new ArrayList<>();
+    planBuckets(alignedStart, alignedEnd, finest.ordinal(), segments);
+    segments.forEach(bucketConsumer);
+    rawQuery.addRaw(alignedStart, alignedEnd, false, true);
+    rawQuery.addRaw(alignedEnd, end, true, false);
+  }
+
+  /**
+   * Splits the range {@code [from, to)}, aligned to the granularity of the given level, into the
+   * coarsest buckets possible: a coarser middle part with finer leftovers on both sides.
+   */
+  private static void planBuckets(final LocalDateTime from, final LocalDateTime to,
+                                  final int level, final List<Segment> segments) {
+    final RollupGranularity[] granularities = RollupGranularity.values();
+    final RollupGranularity current = granularities[level];
+    if (level + 1 < granularities.length) {
+      final RollupGranularity coarser = granularities[level + 1];
+      final LocalDateTime coarseFrom = coarser.ceil(from);
+      final LocalDateTime coarseTo = coarser.floor(to);
+      if (coarseFrom.isBefore(coarseTo)) {
+        if (from.isBefore(coarseFrom)) {
+          segments.add(new Segment(current, from, coarseFrom));
+        }
+        planBuckets(coarseFrom, coarseTo, level + 1, segments);
+        if (coarseTo.isBefore(to)) {
+          segments.add(new Segment(current, coarseTo, to));
+        }
+        return;
+      }
+    }
+    segments.add(new Segment(current, from, to));
+  }
+
+  private record Segment(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+
+  }
+
+  private record AppUri(String app, String uri) {
+
+  }
+
+  private record SketchKey(RollupGranularity granularity, LocalDateTime bucketStart, String app,
+                           String uri) {
+
+    Object[] toTuple() {
+      return new Object[] {granularity.name(), bucketStart, app, uri};
+    }
+
+    MapSqlParameterSource toParams() {
+      return new MapSqlParameterSource()
+          .addValue("granularity", granularity.name())
+          .addValue("bucketStart", bucketStart)
+          .addValue("app", app)
+          .addValue("uri", uri);
+    }
+  }
+
+  /**
+   * Builds a {@code UNION ALL} of bucket and raw-table selects over the same uri filter.
+   */
+  private static class RangeQuery {
+
+    private final StringJoiner union = new StringJoiner("\nUNION ALL\n");
+    private final MapSqlParameterSource params = new MapSqlParameterSource();
+    private final String uriFilter;
+    private final String rawColumns;
+    private final String rawGroupBy;
+    private int counter;
+
+    RangeQuery(final List<String> uris, final String rawColumns, final String rawGroupBy) {
+      this.rawColumns = rawColumns;
+      this.rawGroupBy = rawGroupBy;
+      if (uris != null && !uris.isEmpty()) {
+        params.addValue("uris", uris);
+        uriFilter = " AND uri IN (:uris)";
+      } else {
+        uriFilter = "";
+      }
+    }
+
+    void addBuckets(final String table, final String columns, final Segment segment) {
+      final int i = counter++;
+      params.addValue("granularity" + i, segment.granularity().name())
+          .addValue("from" + i, segment.from())
+          .addValue("to" + i, segment.to());
+      union.add("SELECT " + columns + " FROM " + table
+          + " WHERE granularity = :granularity" + i
+          + " AND bucket_start >= :from" + i + " AND bucket_start < :to" + i + uriFilter);
+    }
+
+    void addRaw(final LocalDateTime from, final LocalDateTime to, final boolean inclusiveEnd,
+                final boolean notRolledUpOnly) {
+      final int i = counter++;
+      params.addValue("from" + i, from).addValue("to" + i, to);
+      union.add("SELECT " + rawColumns + " FROM endpointhit"
+          + " WHERE request_time >= :from" + i
+          + " AND request_time " + (inclusiveEnd ? "<=" : "<") + " :to" + i + uriFilter
+          + (notRolledUpOnly
+          ? " AND id > (SELECT last_hit_id FROM endpointhit_rollup_state WHERE id = 1)"
+          : "")
+          + " GROUP BY " + rawGroupBy);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.config.HitIngestionProperties;
+import ru.practicum.config.HitIngestionProperties.IngestionMode;
+import ru.practicum.exception.BadRequestException;
+import ru.practicum.exception.ServiceUnavailableException;
+import ru.practicum.model.EndPointHit;
+import ru.practicum.repository.StatsRepository;
+
+/**
+ * Buffers endpoint hits in a bounded queue and writes them to the DB in batches from a single
+ * background thread. A full queue is reported back to the caller instead of growing without limit.
+ * <p>
+ * Queue space is reserved for a whole list of hits before any of them is enqueued, so a rejected
+ * list leaves nothing behind for the caller's retry to duplicate.
+ */
+@Component
+@Slf4j
+public class EndPointHitWriter {
+
+  private final StatsRepository statsRepository;
+  private final HitIngestionProperties properties;
+  private final BlockingQueue<EndPointHit> queue;
+  /**
+   * Free queue slots not yet reserved; released only after hits leave the queue, so a reservation
+   * always fits.
+   */
+  private final Semaphore freeSlots;
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public EndPointHitWriter(final StatsRepository statsRepository,
+                           final HitIngestionProperties properties) {
+    this.statsRepository = statsRepository;
+    this.properties = properties;
+    this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    this.freeSlots = new Semaphore(properties.getQueueCapacity());
+  }
+
+  @PostConstruct
+  public void start() {
+    if (properties.getMode() != IngestionMode.ASYNC) {
+      return;
+    }
+    log.info("Starting hit writer: queue capacity={}, batch size={}, flush interval={}.",
+        properties.getQueueCapacity(), properties.getBatchSize(), properties.getFlushInterval());
+    running = true;
+    worker = Thread.ofPlatform()
+        .name("endpoint-hit-writer")
+        .daemon()
+        .start(this::drainLoop);
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (worker == null) {
+      return;
+    }
+    log.info("Stopping hit writer, {} hits pending.", queue.size());
+    running = false;
+    worker.join(properties.getFlushInterval().multipliedBy(4).toMillis());
+  }
+
+  /**
+   * Enqueues the hit for the next batch, waiting up to the configured offer timeout for free space.
+   *
+   * @throws ServiceUnavailableException if the queue stays full
+   */
+  public void submit(final EndPointHit hit) {
+    submitAll(List.of(hit));
+  }
+
+  /**
+   * Enqueues all the hits or none of them, waiting up to the configured offer timeout for space
+   * for the whole list.
+   *
+   * @throws ServiceUnavailableException if the queue has no space for the list in time
+   * @throws BadRequestException if the list is larger than the whole queue
+   */
+  public void submitAll(final List<EndPointHit> hits) {
+    if (hits.size() > properties.getQueueCapacity()) {
+      log.warn("Rejecting {} hits, more than the hit queue capacity {}.", hits.size(),
+          properties.getQueueCapacity());
+      throw new BadRequestException("Too many hits in one request, at most "
+          + properties.getQueueCapacity() + " are accepted.");
+    }
+    boolean reserved;
+    try {
+      reserved = freeSlots.tryAcquire(hits.size(), properties.getOfferTimeout().toMillis(),
+          TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      reserved = false;
+    }
+    if (!reserved) {
+      log.warn("Hit queue is full ({} hits), rejecting {} hits.", queue.size(), hits.size());
+      throw new ServiceUnavailableException("Hit ingestion is overloaded, try again later.");
+    }
+    queue.addAll(hits);
+  }
+
+  private void drainLoop() {
+    final List<EndPointHit> batch = new ArrayList<>(properties.getBatchSize());
+    while (running) {
+      try {
+        fillBatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running = false;
+      }
+      flush(batch);
+    }
+    int drained;
+    while ((drained = queue.drainTo(batch, properties.getBatchSize())) > 0) {
+      freeSlots.release(drained);
+      flush(batch);
+    }
+    log.info("Hit writer stopped.");
+  }
+
+  private void fillBatch(final List<EndPointHit> batch) throws InterruptedException {
+    final long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+    while (batch.size() < properties.getBatchSize()) {
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+      final EndPointHit hit = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (hit == null) {
+        return;
+      }
+      batch.add(hit);
+      final int drained = queue.drainTo(batch, properties.getBatchSize() - batch.size());
+      freeSlots.release(drained + 1);
+    }
+  }
+
+  private void flush(final List<EndPointHit> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      statsRepository.insertAll(batch);
+      log.debug("Flushed {} hits.", batch.size());
+    } catch (RuntimeException e) {
+      log.error("Failed to flush {} hits, batch dropped.", batch.size(), e);
+    } finally {
+      batch.clear();
+    }
+  }
+}
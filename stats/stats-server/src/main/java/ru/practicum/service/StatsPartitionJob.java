@@ -0,0 +1,166 @@
+package ru.practicum.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.config.StatsPartitionProperties;
+import ru.practicum.config.StatsPartitionProperties.PartitionInterval;
+import ru.practicum.repository.StatsRepository;
+
+/**
+ * Keeps the {@code endpointhit} partitions for the current and the next few intervals created and
+ * drops partitions whose rows are all past the retention period. Runs once at startup and then
+ * every check interval.
+ * <p>
+ * A plain {@code endpointhit}, created before partitioning, is migrated first: its hits within the
+ * retention period are copied batch by batch into range partitions of a new partitioned table, and
+ * the new table then replaces it. Hits are written to and read from the plain table until then.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "stats.partitioning", name = "enabled", matchIfMissing = true)
+public class StatsPartitionJob {
+
+  private static final DateTimeFormatter NAME_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+  private final StatsRepository statsRepository;
+  private final StatsPartitionProperties properties;
+
+  private volatile boolean migrated;
+  private int migratedUpTo = -1;
+
+  @Scheduled(initialDelay = 0, fixedDelayString = "${stats.partitioning.check-interval:PT1H}")
+  public void maintainPartitions() {
+    try {
+      if (!statsRepository.isPartitioned()) {
+        log.info("Table endpointhit is not partitioned yet, skipping partition maintenance "
+            + "until its hits are migrated.");
+        return;
+      }
+      statsRepository.createDefaultPartition();
+      forEachUpcomingInterval(statsRepository::createPartition);
+      dropExpiredPartitions();
+    } catch (RuntimeException e) {
+      log.error("Partition maintenance failed.", e);
+    }
+  }
+
+  /**
+   * Copies the next batch of hits of a plain {@code endpointhit} into the migration table, creating
+   * the partitions they fall into first, or completes the migration once all are copied.
+   */
+  @Scheduled(initialDelay = 0, fixedDelayString = "${stats.partitioning.migration-delay:PT1S}")
+  public synchronized void migrateBatch() {
+    if (migrated) {
+      return;
+    }
+    try {
+      if (statsRepository.isPartitioned()) {
+        migrated = true;
+        return;
+      }
+      if (migratedUpTo < 0) {
+        statsRepository.createMigrationTable();
+        migratedUpTo = statsRepository.findMigratedUpTo();
+        log.info("Migrating hits of the plain endpointhit table into range partitions after ID {}.",
+            migratedUpTo);
+      }
+      final LocalDateTime cutoff = retentionCutoff();
+      final Integer batchEnd = statsRepository.findMigrationBatchEnd(migratedUpTo,
+          properties.getMigrationBatchSize());
+      if (batchEnd == null) {
+        completeMigration(cutoff);
+        return;
+      }
+      createMigrationPartitions(batchEnd, cutoff);
+      final int copied = statsRepository.copyToMigrationTable(migratedUpTo, batchEnd, cutoff);
+      log.debug("Copied {} hits with IDs in ({}, {}] into range partitions.", copied, migratedUpTo,
+          batchEnd);
+      migratedUpTo = batchEnd;
+    } catch (RuntimeException e) {
+      log.error("Migration of endpointhit into range partitions failed, retrying.", e);
+    }
+  }
+
+  /**
+   * Creates the partitions of the hits written since the last batch and of the upcoming intervals,
+   * so that no hit lands in the DEFAULT partition, and then swaps the tables.
+   */
+  private void completeMigration(final LocalDateTime cutoff) {
+    createMigrationPartitions(Integer.MAX_VALUE, cutoff);
+    forEachUpcomingInterval(statsRepository::createMigrationPartition);
+    statsRepository.completeMigration(migratedUpTo, cutoff);
+    migrated = true;
+    log.info("Migrated endpointhit into range partitions.");
+    maintainPartitions();
+  }
+
+  private void createMigrationPartitions(final int batchEnd, final LocalDateTime cutoff) {
+    final PartitionInterval interval = properties.getInterval();
+    statsRepository.findMigrationIntervals(migratedUpTo, batchEnd, cutoff,
+            interval.name().toLowerCase())
+        .forEach(start -> {
+          final LocalDate from = start.toLocalDate();
+          createPartition(statsRepository::createMigrationPartition, from,
+              from.plus(1, interval.getUnit()));
+        });
+  }
+
+  private void forEachUpcomingInterval(final PartitionCreator creator) {
+    final PartitionInterval interval = properties.getInterval();
+    LocalDate from = intervalStart(LocalDate.now(), interval);
+    for (int i = 0; i <= properties.getPrecreate(); i++) {
+      final LocalDate to = from.plus(1, interval.getUnit());
+      createPartition(creator, from, to);
+      from = to;
+    }
+  }
+
+  private void createPartition(final PartitionCreator creator, final LocalDate from,
+                               final LocalDate to) {
+    final String name = "endpointhit_p" + NAME_SUFFIX.format(from);
+    try {
+      creator.create(name, from.atStartOfDay(), to.atStartOfDay());
+    } catch (DataAccessException e) {
+      log.warn("Could not create partition {} for [{}, {}): {}", name, from, to,
+          e.getMostSpecificCause().getMessage());
+    }
+  }
+
+  private void dropExpiredPartitions() {
+    final LocalDateTime cutoff = retentionCutoff();
+    final Map<String, LocalDateTime> upperBounds = statsRepository.findPartitionUpperBounds();
+    upperBounds.forEach((name, upperBound) -> {
+      if (!upperBound.isAfter(cutoff)) {
+        log.info("Dropping expired partition {} (rows before {}).", name, upperBound);
+        statsRepository.dropPartition(name);
+      }
+    });
+    final int deleted = statsRepository.deleteFromDefaultPartition(cutoff);
+    if (deleted > 0) {
+      log.info("Deleted {} expired hits from the default partition.", deleted);
+    }
+  }
+
+  private LocalDateTime retentionCutoff() {
+    return LocalDate.now().minus(properties.getRetention()).atStartOfDay();
+  }
+
+  private static LocalDate intervalStart(final LocalDate date, final PartitionInterval interval) {
+    return interval == PartitionInterval.MONTH ? date.withDayOfMonth(1) : date;
+  }
+
+  @FunctionalInterface
+  private interface PartitionCreator {
+
+    void create(String name, LocalDateTime from, LocalDateTime to);
+  }
+}
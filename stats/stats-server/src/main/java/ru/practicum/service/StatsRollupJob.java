@@ -0,0 +1,30 @@
+package ru.practicum.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.repository.StatsRepository;
+
+/**
+ * Periodically folds newly written hits into the per-minute, per-hour and per-day counters.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "stats.rollup", name = "enabled", matchIfMissing = true)
+public class StatsRollupJob {
+
+  private final StatsRepository statsRepository;
+
+  @Scheduled(fixedDelayString = "${stats.rollup.interval:PT1M}")
+  public void rollUp() {
+    try {
+      final long rolledUp = statsRepository.rollUpNewHits();
+      log.debug("Rolled up {} hits.", rolledUp);
+    } catch (RuntimeException e) {
+      log.error("Failed to roll up hits.", e);
+    }
+  }
+}
@@ -7,7 +7,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.EndPointHitDto;
+import ru.practicum.HitChangesDto;
 import ru.practicum.ViewStatsDto;
+import ru.practicum.config.HitIngestionProperties;
+import ru.practicum.config.HitIngestionProperties.IngestionMode;
+import ru.practicum.config.StatsRollupProperties;
 import ru.practicum.exception.BadRequestException;
 import ru.practicum.mapper.StatsMapper;
 import ru.practicum.model.EndPointHit;
@@ -20,25 +24,71 @@ import ru.practicum.repository.StatsRepository;
 public class StatsServiceImpl implements StatsService {
 
   private final StatsRepository statsRepository;
+  private final EndPointHitWriter hitWriter;
+  private final HitIngestionProperties ingestionProperties;
+  private final StatsRollupProperties rollupProperties;
 
   @Override
   @Transactional
   public void saveEndpointHit(final EndPointHitDto dto) {
     log.debug("Persisting a new hit info {}.", dto);
     final EndPointHit hitToSave = StatsMapper.mapToEndPointHit(dto);
+    if (ingestionProperties.getMode() == IngestionMode.ASYNC) {
+      hitWriter.submit(hitToSave);
+      log.info("EndpointHit queued for batch insert.");
+      return;
+    }
     statsRepository.save(hitToSave);
     log.info("EndpointHit saved successfully.");
   }
 
+  @Override
+  @Transactional
+  public void saveEndpointHits(final List<EndPointHitDto> dtos) {
+    log.debug("Persisting {} hits.", dtos.size());
+    final List<EndPointHit> hitsToSave = dtos.stream()
+        .map(StatsMapper::mapToEndPointHit)
+        .toList();
+    if (ingestionProperties.getMode() == IngestionMode.ASYNC) {
+      hitWriter.submitAll(hitsToSave);
+      log.info("{} EndpointHits queued for batch insert.", hitsToSave.size());
+      return;
+    }
+    statsRepository.insertAll(hitsToSave);
+    log.info("{} EndpointHits saved successfully.", hitsToSave.size());
+  }
+
   @Override
   public List<ViewStatsDto> getStats(final LocalDateTime start, final LocalDateTime end,
-                                     final List<String> uris, final boolean unique) {
-    log.debug("Retrieving stats for time range: {} - {}, URIs: {}, Unique IPs: {}.",
-        start, end, uris, unique);
+                                     final List<String> uris, final boolean unique,
+                                     final boolean approximate) {
+    log.debug("Retrieving stats for time range: {} - {}, URIs: {}, Unique IPs: {}, approximate: {}.",
+        start, end, uris, unique, approximate);
     validateStartEndDates(start, end);
+    if (unique && approximate && rollupProperties.isEnabled()) {
+      return statsRepository.getApproximateUniqueStats(start, end, uris);
+    }
+    if (!unique && rollupProperties.isEnabled()) {
+      return statsRepository.getRollupStats(start, end, uris);
+    }
     return statsRepository.getStats(start, end, uris, unique);
   }
 
+  /**
+   * Returns URIs hit after the given cursor (a hit ID). Without a cursor, or with one ahead of the
+   * stored hits, only the current cursor is returned so the caller can start following from it.
+   */
+  @Override
+  public HitChangesDto getChanges(final Long since) {
+    final int cursor = statsRepository.findMaxId();
+    if (since == null || since >= cursor) {
+      return new HitChangesDto((long) cursor, List.of());
+    }
+    final List<String> uris = statsRepository.findUrisHitBetween(since.intValue(), cursor);
+    log.debug("Found {} URIs hit between {} and {}.", uris.size(), since, cursor);
+    return new HitChangesDto((long) cursor, uris);
+  }
+
   private void validateStartEndDates(final LocalDateTime start, final LocalDateTime end) {
     if (start == null || end == null) {
       log.warn("Start or end date are/is null.");
@@ -0,0 +1,183 @@
+package ru.practicum.sketch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog cardinality sketch with {@code 2^precision} one-byte registers.
+ * <p>
+ * The relative standard error is about {@code 1.04 / sqrt(2^precision)}. Sketches of different
+ * precision can be merged: the more precise one is folded down first. Serialized sketches are
+ * sparse (index/value pairs) while few registers are set, and dense otherwise.
+ */
+public final class HyperLogLog {
+
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 16;
+
+  private static final byte DENSE = 0;
+  private static final byte SPARSE = 1;
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog(final int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and "
+          + MAX_PRECISION + ": " + precision);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * Returns the smallest precision whose standard error does not exceed the given relative error.
+   */
+  public static int precisionFor(final double relativeError) {
+    final double registersNeeded = Math.pow(1.04 / relativeError, 2);
+    final int precision = (int) Math.ceil(Math.log(registersNeeded) / Math.log(2));
+    return Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision));
+  }
+
+  public static HyperLogLog fromBytes(final byte[] bytes) {
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    final byte format = buffer.get();
+    final HyperLogLog sketch = new HyperLogLog(buffer.get());
+    if (format == SPARSE) {
+      while (buffer.hasRemaining()) {
+        final int index = Short.toUnsignedInt(buffer.getShort());
+        sketch.registers[index] = buffer.get();
+      }
+    } else {
+      buffer.get(sketch.registers);
+    }
+    return sketch;
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  public void add(final String value) {
+    final long hash = hash(value);
+    final int index = (int) (hash >>> (Long.SIZE - precision));
+    final long remaining = (hash << precision) | (1L << (precision - 1));
+    final byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    if (registers[index] < rank) {
+      registers[index] = rank;
+    }
+  }
+
+  /**
+   * Merges the other sketch into a sketch of the lower of both precisions and returns it.
+   */
+  public HyperLogLog merge(final HyperLogLog other) {
+    final HyperLogLog target = precision <= other.precision ? this : foldTo(other.precision);
+    final HyperLogLog source = other.foldTo(target.precision);
+    for (int i = 0; i < target.registers.length; i++) {
+      if (target.registers[i] < source.registers[i]) {
+        target.registers[i] = source.registers[i];
+      }
+    }
+    return target;
+  }
+
+  /**
+   * Returns an equivalent sketch of lower precision. The dropped index bits become the leading
+   * bits of the hash remainder, so the folded registers are exactly what the lower precision
+   * sketch would have recorded.
+   */
+  public HyperLogLog foldTo(final int targetPrecision) {
+    if (targetPrecision == precision) {
+      return this;
+    }
+    if (targetPrecision > precision) {
+      throw new IllegalArgumentException("Cannot increase sketch precision.");
+    }
+    final HyperLogLog folded = new HyperLogLog(targetPrecision);
+    final int droppedBits = precision - targetPrecision;
+    final int droppedMask = (1 << droppedBits) - 1;
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] == 0) {
+        continue;
+      }
+      final int dropped = i & droppedMask;
+      final int rank = dropped == 0
+          ? droppedBits + registers[i]
+          : Integer.numberOfLeadingZeros(dropped) - (Integer.SIZE - droppedBits) + 1;
+      final int index = i >>> droppedBits;
+      if (folded.registers[index] < rank) {
+        folded.registers[index] = (byte) rank;
+      }
+    }
+    return folded;
+  }
+
+  public long estimate() {
+    final int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+    final double estimate = alpha(m) * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      return Math.round(m * Math.log((double) m / zeros));
+    }
+    return Math.round(estimate);
+  }
+
+  public byte[] toBytes() {
+    int used = 0;
+    for (byte register : registers) {
+      if (register != 0) {
+        used++;
+      }
+    }
+    if (used * 3 < registers.length) {
+      final ByteBuffer buffer = ByteBuffer.allocate(2 + used * 3)
+          .put(SPARSE)
+          .put((byte) precision);
+      for (int i = 0; i < registers.length; i++) {
+        if (registers[i] != 0) {
+          buffer.putShort((short) i).put(registers[i]);
+        }
+      }
+      return buffer.array();
+    }
+    return ByteBuffer.allocate(2 + registers.length)
+        .put(DENSE)
+        .put((byte) precision)
+        .put(registers)
+        .array();
+  }
+
+  private static double alpha(final int m) {
+    return switch (m) {
+      case 16 -> 0.673;
+      case 32 -> 0.697;
+      case 64 -> 0.709;
+      default -> 0.7213 / (1 + 1.079 / m);
+    };
+  }
+
+  /**
+   * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer to spread the bits.
+   */
+  private static long hash(final String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb93fe53b5ca9L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,44 @@
+-- H2 (dev profile) variant of schema.sql: no partitioning, no ON CONFLICT
+CREATE TABLE IF NOT EXISTS endpointhit
+(
+    id INTEGER GENERATED ALWAYS AS IDENTITY,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    ip VARCHAR(39) NOT NULL,
+    request_time TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
+    CONSTRAINT pk_endpoint_hit PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_endpointhit_uri_request_time ON endpointhit (uri, request_time);
+
+CREATE TABLE IF NOT EXISTS endpointhit_rollup
+(
+    granularity  VARCHAR(10)                 NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app          VARCHAR(255)                NOT NULL,
+    uri          VARCHAR(255)                NOT NULL,
+    hits         BIGINT                      NOT NULL,
+    CONSTRAINT pk_endpointhit_rollup PRIMARY KEY (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS endpointhit_rollup_state
+(
+    id             SMALLINT NOT NULL,
+    last_hit_id    INTEGER  NOT NULL,
+    pending_hit_id INTEGER  NOT NULL,
+    CONSTRAINT pk_endpointhit_rollup_state PRIMARY KEY (id)
+);
+
+MERGE INTO endpointhit_rollup_state (id, last_hit_id, pending_hit_id)
+KEY (id)
+VALUES (1, 0, 0);
+
+CREATE TABLE IF NOT EXISTS endpointhit_sketch
+(
+    granularity  VARCHAR(10)                 NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app          VARCHAR(255)                NOT NULL,
+    uri          VARCHAR(255)                NOT NULL,
+    sketch       VARBINARY                   NOT NULL,
+    CONSTRAINT pk_endpointhit_sketch PRIMARY KEY (granularity, bucket_start, app, uri)
+);
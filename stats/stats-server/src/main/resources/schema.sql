@@ -5,5 +5,50 @@ CREATE TABLE IF NOT EXISTS endpointhit
     uri VARCHAR(255) NOT NULL,
     ip VARCHAR(39) NOT NULL,
     request_time TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT NOW(),
-    CONSTRAINT pk_endpoint_hit PRIMARY KEY (id)
+    CONSTRAINT pk_endpoint_hit PRIMARY KEY (id, request_time)
+) PARTITION BY RANGE (request_time);
+
+-- A plain endpointhit created before partitioning is left as it is and keeps serving hits, while
+-- StatsPartitionJob copies them batch by batch into range partitions of a new table and then swaps
+-- the two. The DEFAULT partition, catching hits outside the range partitions before the job first
+-- runs or when partitioning is disabled, and the index are only created on a partitioned table.
+-- The DO body is quoted so the script splitter keeps it whole.
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(''endpointhit'') AND relkind = ''p'') THEN
+        CREATE TABLE IF NOT EXISTS endpointhit_default PARTITION OF endpointhit DEFAULT;
+        CREATE INDEX IF NOT EXISTS idx_endpointhit_uri_request_time ON endpointhit (uri, request_time);
+    END IF;
+END';
+
+CREATE TABLE IF NOT EXISTS endpointhit_rollup
+(
+    granularity  VARCHAR(10)                 NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app          VARCHAR(255)                NOT NULL,
+    uri          VARCHAR(255)                NOT NULL,
+    hits         BIGINT                      NOT NULL,
+    CONSTRAINT pk_endpointhit_rollup PRIMARY KEY (granularity, bucket_start, app, uri)
+);
+
+CREATE TABLE IF NOT EXISTS endpointhit_rollup_state
+(
+    id             SMALLINT NOT NULL,
+    last_hit_id    INTEGER  NOT NULL,
+    pending_hit_id INTEGER  NOT NULL,
+    CONSTRAINT pk_endpointhit_rollup_state PRIMARY KEY (id)
+);
+
+INSERT INTO endpointhit_rollup_state (id, last_hit_id, pending_hit_id)
+VALUES (1, 0, 0)
+ON CONFLICT DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS endpointhit_sketch
+(
+    granularity  VARCHAR(10)                 NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app          VARCHAR(255)                NOT NULL,
+    uri          VARCHAR(255)                NOT NULL,
+    sketch       BYTEA                       NOT NULL,
+    CONSTRAINT pk_endpointhit_sketch PRIMARY KEY (granularity, bucket_start, app, uri)
 );